@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalDoubleConsumer {
+    void accept(double value) throws Exception;
+}
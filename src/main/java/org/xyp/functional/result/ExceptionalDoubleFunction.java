@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalDoubleFunction<R> {
+    R apply(double value) throws Exception;
+}
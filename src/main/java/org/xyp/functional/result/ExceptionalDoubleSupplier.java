@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalDoubleSupplier {
+    double getAsDouble() throws Exception;
+}
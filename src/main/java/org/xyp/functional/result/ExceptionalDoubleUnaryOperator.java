@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalDoubleUnaryOperator {
+    double applyAsDouble(double operand) throws Exception;
+}
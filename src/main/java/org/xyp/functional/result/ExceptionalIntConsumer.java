@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalIntConsumer {
+    void accept(int value) throws Exception;
+}
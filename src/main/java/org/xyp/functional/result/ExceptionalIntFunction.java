@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalIntFunction<R> {
+    R apply(int value) throws Exception;
+}
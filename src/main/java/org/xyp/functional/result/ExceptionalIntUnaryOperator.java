@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalIntUnaryOperator {
+    int applyAsInt(int operand) throws Exception;
+}
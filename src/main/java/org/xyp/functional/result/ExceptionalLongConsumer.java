@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalLongConsumer {
+    void accept(long value) throws Exception;
+}
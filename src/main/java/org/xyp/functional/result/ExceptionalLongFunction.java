@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalLongFunction<R> {
+    R apply(long value) throws Exception;
+}
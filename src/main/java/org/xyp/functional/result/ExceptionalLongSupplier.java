@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalLongSupplier {
+    long getAsLong() throws Exception;
+}
@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalLongUnaryOperator {
+    long applyAsLong(long operand) throws Exception;
+}
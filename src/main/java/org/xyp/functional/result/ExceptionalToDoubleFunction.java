@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalToDoubleFunction<T> {
+    double applyAsDouble(T t) throws Exception;
+}
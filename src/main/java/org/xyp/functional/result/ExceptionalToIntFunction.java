@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalToIntFunction<T> {
+    int applyAsInt(T t) throws Exception;
+}
@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalToLongFunction<T> {
+    long applyAsLong(T t) throws Exception;
+}
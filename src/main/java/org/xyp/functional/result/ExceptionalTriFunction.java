@@ -0,0 +1,6 @@
+package org.xyp.functional.result;
+
+@FunctionalInterface
+public interface ExceptionalTriFunction<T, U, V, R> {
+    R apply(T t, U u, V v) throws Exception;
+}
@@ -0,0 +1,84 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * the outcomes of the chains started at one call site, deciding how the next ones are traced with
+ * {@link TraceMode#ADAPTIVE}<br/>
+ * outcomes are counted over windows of {@link TraceConfig#getAdaptiveWindow()} chains. at the end of a window the site
+ * switches to {@link TraceMode#FULL} if more than {@link TraceConfig#getAdaptiveThreshold()} of its chains failed,
+ * and back to {@link TraceMode#TAIL} once they do not anymore
+ */
+final class AdaptiveSite {
+
+    private static final long CHAIN = 1L << 32;
+    private static final long FAILURES = CHAIN - 1;
+    private static final AdaptiveSite UNKNOWN = new AdaptiveSite();
+    private static volatile AdaptiveSite[] sites = new AdaptiveSite[256];
+
+    /**
+     * chains counted in the current window in the high half, failed ones in the low half
+     */
+    private final AtomicLong window = new AtomicLong();
+    private final Tracer[] tracers = new Tracer[Tracer.count()];
+    private volatile boolean escalated;
+
+    /**
+     * @param callSite an id of {@link CallSites}
+     */
+    static AdaptiveSite of(int callSite) {
+        if (callSite < 0) {
+            return UNKNOWN;
+        }
+        final var current = sites;
+        if (callSite < current.length && null != current[callSite]) {
+            return current[callSite];
+        }
+        return register(callSite);
+    }
+
+    private static synchronized AdaptiveSite register(int callSite) {
+        var current = sites;
+        if (callSite >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, callSite + 1));
+        }
+        if (null == current[callSite]) {
+            current[callSite] = new AdaptiveSite();
+        }
+        sites = current;
+        return current[callSite];
+    }
+
+    boolean isEscalated() {
+        return escalated;
+    }
+
+    /**
+     * @return the tracer of a chain started at this site now
+     */
+    Tracer tracer(Retention retention, boolean foldRepeats) {
+        return tracer(escalated ? TraceMode.FULL : TraceMode.TAIL, retention, foldRepeats);
+    }
+
+    Tracer tracer(TraceMode mode, Retention retention, boolean foldRepeats) {
+        final var index = Tracer.index(mode, retention, foldRepeats);
+        var tracer = tracers[index];
+        if (null == tracer) {
+            tracer = Tracer.of(mode, retention, foldRepeats).at(this);
+            tracers[index] = tracer;
+        }
+        return tracer;
+    }
+
+    /**
+     * counts the outcome of a chain started at this site, the thread closing a window decides for the next one
+     */
+    void record(boolean failed) {
+        final var counted = window.addAndGet(failed ? CHAIN + 1 : CHAIN);
+        final var chains = counted >>> 32;
+        if (chains >= TraceConfig.getAdaptiveWindow() && window.compareAndSet(counted, 0)) {
+            escalated = (double) (counted & FAILURES) / chains > TraceConfig.getAdaptiveThreshold();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalConsumer;
+import org.xyp.functional.result.ExceptionalFunction;
+import org.xyp.functional.result.ExceptionalSupplier;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * the asynchronous counterpart of {@link EagerResultOrError}: every step is composed onto a {@link CompletableFuture}
+ * as soon as it is added, nothing blocks<br/>
+ * the steps ending with {@code Async} run on the executor of the chain, the others on the thread completing the
+ * previous step. call sites are captured where the steps are added, and every step links the one it follows whatever
+ * thread ran it, so the trace of a failure shows the whole chain<br/>
+ * the future of a chain never completes exceptionally, its failures are failed {@link Result}s, only an
+ * {@link Error} is not caught
+ *
+ * @param <R>
+ */
+public final class AsyncResultOrError<R> {
+
+    private final CompletableFuture<StackStepInfo<R>> current;
+    private final Tracer tracer;
+    private final Executor executor;
+
+    private AsyncResultOrError(CompletableFuture<StackStepInfo<R>> current, Tracer tracer, Executor executor) {
+        this.current = current;
+        this.tracer = tracer;
+        this.executor = executor;
+    }
+
+    private <U> AsyncResultOrError<U> next(CompletableFuture<StackStepInfo<U>> step) {
+        return new AsyncResultOrError<>(step, tracer, executor);
+    }
+
+    private int captureCallSite(Object function) {
+        return ResultOrError.captureCallSite(tracer, function);
+    }
+
+    public static <R> AsyncResultOrError<R> onAsync(Executor executor, ExceptionalSupplier<R> supplier) {
+        return onAsync(TraceConfig.getDefaultMode(), executor, supplier);
+    }
+
+    /**
+     * @return a chain started by the supplier run on the executor, an executor rejecting it fails the first step
+     */
+    public static <R> AsyncResultOrError<R> onAsync(TraceMode traceMode, Executor executor, ExceptionalSupplier<R> supplier) {
+        Objects.requireNonNull(executor, "executor");
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.captureCallSite(base, supplier);
+        final var tracer = base.at(callSite);
+        CompletableFuture<StackStepInfo<R>> first;
+        try {
+            first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return tracer.step(callSite, null, null, supplier.get(), null, null);
+                } catch (Exception exception) {
+                    return tracer.step(callSite, null, null, null, exception, null);
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            first = CompletableFuture.completedFuture(tracer.step(callSite, null, null, null, exception, null));
+        }
+        return new AsyncResultOrError<>(first, tracer, executor);
+    }
+
+    public static <R> AsyncResultOrError<R> of(R value) {
+        return of(TraceConfig.getDefaultMode(), value);
+    }
+
+    /**
+     * @return a chain started from a value, its async steps run on the common pool
+     */
+    public static <R> AsyncResultOrError<R> of(TraceMode traceMode, R value) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.captureCallSite(base);
+        final var tracer = base.at(callSite);
+        return new AsyncResultOrError<>(
+            CompletableFuture.completedFuture(tracer.step(callSite, null, null, value, null, null)),
+            tracer,
+            ForkJoinPool.commonPool()
+        );
+    }
+
+    public static <R> AsyncResultOrError<R> from(CompletionStage<R> stage, Executor executor) {
+        return from(TraceConfig.getDefaultMode(), stage, executor);
+    }
+
+    /**
+     * @param stage a future completed elsewhere, its exceptional completion becomes the failure of the first step
+     */
+    public static <R> AsyncResultOrError<R> from(TraceMode traceMode, CompletionStage<R> stage, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.captureCallSite(base);
+        final var tracer = base.at(callSite);
+        return new AsyncResultOrError<>(stage.handle((value, failure) -> null == failure
+            ? tracer.step(callSite, null, null, value, null, null)
+            : tracer.<R>step(callSite, null, null, null, unwrap(failure), null)
+        ).toCompletableFuture(), tracer, executor);
+    }
+
+    /**
+     * @return this chain, with the async steps added from now on running on the executor
+     */
+    public AsyncResultOrError<R> withExecutor(Executor executor) {
+        return new AsyncResultOrError<>(current, tracer, Objects.requireNonNull(executor, "executor"));
+    }
+
+    public AsyncResultOrError<R> filter(Predicate<? super R> predicate) {
+        final var callSite = captureCallSite(predicate);
+        return next(current.thenApply(step -> ResultOrError.getStackStepInfoByFilter(predicate, step, callSite, tracer)));
+    }
+
+    public AsyncResultOrError<R> consume(ExceptionalConsumer<? super R> consumer) {
+        final var callSite = captureCallSite(consumer);
+        return next(current.thenApply(step -> ResultOrError.getStackByConsume(consumer, step, callSite, tracer)));
+    }
+
+    public AsyncResultOrError<R> doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        final var callSite = captureCallSite(consumer);
+        return next(current.thenApply(step -> ResultOrError.getStackStepInfoByDoOnError(consumer, step, callSite, tracer)));
+    }
+
+    public <U> AsyncResultOrError<U> map(ExceptionalFunction<? super R, ? extends U> mapper) {
+        final var callSite = captureCallSite(mapper);
+        return next(current.thenApply(step -> ResultOrError.getStackStepInfoByMapper(mapper, step, callSite, tracer)));
+    }
+
+    /**
+     * @return the chain continued by the mapper, run on the executor of the chain
+     */
+    public <U> AsyncResultOrError<U> mapAsync(ExceptionalFunction<? super R, ? extends U> mapper) {
+        final var callSite = captureCallSite(mapper);
+        return next(current.thenApplyAsync(step -> ResultOrError.getStackStepInfoByMapper(mapper, step, callSite, tracer), executor));
+    }
+
+    public AsyncResultOrError<R> mapOnError(ExceptionalFunction<Exception, ? extends R> mapper) {
+        final var callSite = captureCallSite(mapper);
+        return next(current.thenApply(step -> ResultOrError.getStackStepInfoByMapOnError(mapper, step, callSite, tracer)));
+    }
+
+    /**
+     * the chain returned by the mapper is joined without blocking, its trace becomes the child of the joining step
+     */
+    @SuppressWarnings("unchecked")
+    public <U> AsyncResultOrError<U> flatMapAsync(Function<? super R, AsyncResultOrError<U>> mapper) {
+        final var callSite = captureCallSite(mapper);
+        return next(current.thenComposeAsync(step -> {
+            final var lastOutput = step.output();
+            if (step.isError() || null == lastOutput) {
+                return CompletableFuture.completedFuture((StackStepInfo<U>) step);
+            }
+            final AsyncResultOrError<U> child;
+            try {
+                child = mapper.apply(lastOutput);
+            } catch (RuntimeException exception) {
+                return CompletableFuture.completedFuture(tracer.step(callSite, step, lastOutput, null, exception, null));
+            }
+            return child.current.thenApply(childLast ->
+                ResultOrError.getStackStepInfoByJoin(step, toResult(childLast, child.tracer), callSite, tracer));
+        }, executor));
+    }
+
+    /**
+     * @return the result of the chain once its last step completes
+     */
+    public CompletableFuture<Result<R, Exception>> getResult() {
+        final var callSite = ResultOrError.captureCallSite(tracer);
+        return current.handle((step, failure) -> null == failure
+            ? toResult(tracer.step(callSite, step, step.rawInput(), step.output(), step.exception(), null), tracer)
+            : Result.failure(unwrap(failure), null));
+    }
+
+    /**
+     * @return the value of the chain, the future completes exceptionally with the error of a failed chain
+     */
+    public CompletableFuture<R> toCompletableFuture() {
+        return getResult().thenCompose(result -> result.fold(
+            CompletableFuture::completedFuture,
+            CompletableFuture::failedFuture
+        ));
+    }
+
+    /**
+     * the steps of this chain are created by the chain tracer, never by the one of a run nor in a {@link TraceArena},
+     * since they may not run on the thread obtaining the result
+     */
+    private static <R> Result<R, Exception> toResult(StackStepInfo<R> last, Tracer tracer) {
+        final var trace = tracer.trace(last, last.isError());
+        return last.isError() ? Result.failure(last.exception(), trace) : Result.success(last.output(), trace);
+    }
+
+    /**
+     * @return the failure of a step the chain could not run, an executor rejecting it or a throwing predicate
+     */
+    private static Exception unwrap(Throwable failure) {
+        var cause = failure;
+        while (cause instanceof CompletionException && null != cause.getCause()) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        throw new CompletionException(cause);
+    }
+}
@@ -0,0 +1,31 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * the threads a {@link ChainBatch} runs on: a bounded pool of platform threads<br/>
+ * the jar holds another version of this class for Java 21 or later, under {@code META-INF/versions/21}, running every
+ * chain on its own virtual thread
+ */
+final class BatchThreads {
+    private BatchThreads() {
+    }
+
+    static final int PLATFORM_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    static boolean isVirtual() {
+        return false;
+    }
+
+    static ExecutorService newExecutor(int tasks) {
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(tasks, PLATFORM_THREADS)), runnable -> {
+            final var thread = new Thread(runnable, "result-batch-" + COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
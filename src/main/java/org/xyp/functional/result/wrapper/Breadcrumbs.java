@@ -0,0 +1,42 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.Arrays;
+
+/**
+ * the call sites of the steps a {@link TraceMode#TAIL} run went through, in order, without their values<br/>
+ * they are turned into trace steps only when a step fails, see {@link #link(StackStepInfo, Retention)}
+ */
+final class Breadcrumbs {
+
+    private int[] callSites = new int[16];
+    private int size;
+    private StackStepInfo<?> failed;
+
+    void add(int callSite) {
+        if (size == callSites.length) {
+            callSites = Arrays.copyOf(callSites, size * 2);
+        }
+        callSites[size++] = callSite;
+    }
+
+    /**
+     * @param previous the step the failing step follows, the last of the recorded ones
+     * @return the steps recorded since the last failing step, linked after it. only the last one holds its output
+     */
+    StackStepInfo<?> link(StackStepInfo<?> previous, Retention retention) {
+        var linked = failed;
+        for (int i = 0; i < size; i++) {
+            final var output = i == size - 1 && null != previous ? retention.retain(previous.rawOutput()) : Retention.dropped();
+            linked = StackStepInfo.of(callSites[i], linked, Retention.dropped(), output, null, null);
+        }
+        size = 0;
+        return linked;
+    }
+
+    /**
+     * the steps recorded from now on follow the given failing step
+     */
+    void failed(StackStepInfo<?> step) {
+        failed = step;
+    }
+}
@@ -0,0 +1,18 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * how a combinator finds the call site recorded into its {@link StackStepInfo}
+ */
+public enum CallSiteCapture {
+    /**
+     * walk the stack every time a step is built
+     */
+    STACK_WALK,
+    /**
+     * walk the stack once per lambda / method reference expression, later steps built from the same expression
+     * reuse that call site without walking.<br/>
+     * a function object created at one place and passed to combinators at several places
+     * (e.g. kept in a static field, or returned by a helper method) is reported at the first place it was seen
+     */
+    PER_FUNCTION
+}
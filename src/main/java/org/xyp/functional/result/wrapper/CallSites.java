@@ -0,0 +1,213 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * global table of the call sites seen by {@link ResultOrError} and {@link WithCloseable}<br/>
+ * every caller location gets a small int id, its rendered string and stack trace element are kept once per location,
+ * so trace steps only store the id. locations are looked up by the class they are in, and no frame or class is held
+ * by the table, so it does not keep a class loader alive
+ */
+final class CallSites {
+    private CallSites() {
+    }
+
+    static final int NONE = -1;
+
+    private record Location(String methodName, String descriptor, int byteCodeIndex) {
+    }
+
+    record CallSite(int id, StackWalker.StackFrame frame, String rendered, StackTraceElement element) {
+    }
+
+    /**
+     * what a trace step gives back for its call site, rendered as the frame was
+     */
+    private static final class Frame implements StackWalker.StackFrame {
+        private final StackTraceElement element;
+        private final String descriptor;
+        private final int byteCodeIndex;
+        private final String rendered;
+
+        Frame(StackWalker.StackFrame frame) {
+            this.element = frame.toStackTraceElement();
+            this.descriptor = frame.getDescriptor();
+            this.byteCodeIndex = frame.getByteCodeIndex();
+            this.rendered = frame.toString();
+        }
+
+        @Override
+        public String getClassName() {
+            return element.getClassName();
+        }
+
+        @Override
+        public String getMethodName() {
+            return element.getMethodName();
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the class is not held by a call site
+         */
+        @Override
+        public Class<?> getDeclaringClass() {
+            throw new UnsupportedOperationException("the declaring class of a call site is not retained");
+        }
+
+        @Override
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public int getByteCodeIndex() {
+            return byteCodeIndex;
+        }
+
+        @Override
+        public String getFileName() {
+            return element.getFileName();
+        }
+
+        @Override
+        public int getLineNumber() {
+            return element.getLineNumber();
+        }
+
+        @Override
+        public boolean isNativeMethod() {
+            return element.isNativeMethod();
+        }
+
+        @Override
+        public StackTraceElement toStackTraceElement() {
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            return rendered;
+        }
+    }
+
+    private static final ClassValue<ConcurrentHashMap<Location, Integer>> BY_CLASS = new ClassValue<>() {
+        @Override
+        protected ConcurrentHashMap<Location, Integer> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * the locations of the frames not holding their class, see {@link StackStepInfo#StackStepInfo(StackWalker.StackFrame, StackStepInfo, Object, Object, Exception)}
+     */
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<Location, Integer>> BY_NAME = new ConcurrentHashMap<>();
+    private static volatile CallSite[] sites = new CallSite[256];
+    private static int size = 0;
+
+    static int intern(StackWalker.StackFrame frame) {
+        if (null == frame) {
+            return NONE;
+        }
+        final var ids = idsOf(frame);
+        final var location = new Location(frame.getMethodName(), frame.getDescriptor(), frame.getByteCodeIndex());
+        final var id = ids.get(location);
+        if (null != id) {
+            return id;
+        }
+        return register(ids, location, frame);
+    }
+
+    private static ConcurrentHashMap<Location, Integer> idsOf(StackWalker.StackFrame frame) {
+        final Class<?> type;
+        try {
+            type = frame.getDeclaringClass();
+        } catch (UnsupportedOperationException exception) {
+            return BY_NAME.computeIfAbsent(frame.getClassName(), name -> new ConcurrentHashMap<>());
+        }
+        return BY_CLASS.get(type);
+    }
+
+    private static synchronized int register(ConcurrentHashMap<Location, Integer> ids, Location location, StackWalker.StackFrame frame) {
+        final var existing = ids.get(location);
+        if (null != existing) {
+            return existing;
+        }
+        final var id = size;
+        var current = sites;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        final var kept = new Frame(frame);
+        current[id] = new CallSite(id, kept, kept.toString(), kept.toStackTraceElement());
+        // publish the entry before the id becomes visible
+        sites = current;
+        size = id + 1;
+        ids.put(location, id);
+        return id;
+    }
+
+    private static final class FunctionSite {
+        private volatile int id = UNRESOLVED;
+    }
+
+    private static final int UNRESOLVED = -2;
+
+    private static final ClassValue<FunctionSite> BY_FUNCTION = new ClassValue<>() {
+        @Override
+        protected FunctionSite computeValue(Class<?> type) {
+            // only a lambda / method reference class stands for a single expression in the source,
+            // and the library's own wrapping lambdas are shared by every caller
+            return type.isHidden() && !ResultOrError.isLibraryClass(type.getNestHost().getName()) ? new FunctionSite() : null;
+        }
+    };
+
+    /**
+     * resolve the call site of a step built from {@code function}, the walker runs at most once per function class
+     */
+    static int intern(Object function, Supplier<StackWalker.StackFrame> walker) {
+        final var site = null == function ? null : BY_FUNCTION.get(function.getClass());
+        if (null == site) {
+            return intern(walker.get());
+        }
+        var id = site.id;
+        if (id == UNRESOLVED) {
+            id = intern(walker.get());
+            site.id = id;
+        }
+        return id;
+    }
+
+    static CallSite get(int id) {
+        if (id < 0) {
+            return null;
+        }
+        final var current = sites;
+        return id < current.length ? current[id] : null;
+    }
+
+    static StackWalker.StackFrame frame(int id) {
+        final var site = get(id);
+        return null == site ? null : site.frame();
+    }
+
+    /**
+     * @return same as {@code String.valueOf(frame(id))}, without rendering the frame again
+     */
+    static String render(int id) {
+        final var site = get(id);
+        return null == site ? "null" : site.rendered();
+    }
+
+    /**
+     * @return the frame as a stack trace element, shared by every exception listing the call site
+     */
+    static StackTraceElement element(int id) {
+        final var site = get(id);
+        return null == site ? null : site.element();
+    }
+
+    static synchronized int size() {
+        return size;
+    }
+}
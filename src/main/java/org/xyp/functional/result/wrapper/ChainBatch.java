@@ -0,0 +1,82 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * runs a batch of blocking {@link ResultOrError} / {@link WithCloseable} chains concurrently and gathers their results,
+ * in the order of the chains<br/>
+ * on Java 21 or later every chain runs on its own virtual thread, see {@link #isVirtual()}, before on a pool of at most
+ * {@code max(16, 4 * cpus)} platform threads created for the batch<br/>
+ * a {@link TraceArena} scope of the caller does not reach the chains
+ */
+public final class ChainBatch {
+    private ChainBatch() {
+    }
+
+    /**
+     * @return whether the chains of a batch run on virtual threads
+     */
+    public static boolean isVirtual() {
+        return BatchThreads.isVirtual();
+    }
+
+    public static <R> List<Result<R, Exception>> getResults(List<ResultOrError<R>> chains) {
+        final var results = new ArrayList<Supplier<Result<R, Exception>>>(chains.size());
+        for (var chain : chains) {
+            results.add(chain::getResult);
+        }
+        return run(results);
+    }
+
+    /**
+     * @param chains the results to obtain, as {@code chain::getResult} or {@code withCloseable::closeAndGetResult}
+     * @return the result of every chain, a supplier throwing outside of its chain gives a failure without trace. once the
+     * caller is interrupted, the chains not finished are cancelled and their results are that failure
+     * @throws Error thrown by a chain, once the chains not finished are cancelled
+     */
+    public static <R> List<Result<R, Exception>> run(List<? extends Supplier<Result<R, Exception>>> chains) {
+        final var results = new ArrayList<Result<R, Exception>>(chains.size());
+        if (chains.isEmpty()) {
+            return results;
+        }
+        final var executor = BatchThreads.newExecutor(chains.size());
+        try {
+            final var futures = new ArrayList<Future<Result<R, Exception>>>(chains.size());
+            for (var chain : chains) {
+                futures.add(executor.submit(chain::get));
+            }
+            InterruptedException interrupted = null;
+            for (var future : futures) {
+                if (null != interrupted) {
+                    future.cancel(true);
+                    results.add(Result.failure(interrupted, null));
+                    continue;
+                }
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException exception) {
+                    final var cause = exception.getCause();
+                    if (cause instanceof Error error) {
+                        for (var other : futures) {
+                            other.cancel(true);
+                        }
+                        throw error;
+                    }
+                    results.add(Result.failure(cause instanceof Exception e ? e : exception, null));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    interrupted = exception;
+                    future.cancel(true);
+                    results.add(Result.failure(exception, null));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * a step holding the trace of the chain it continued with, see flatMap
+ */
+final class ChildStep<T> extends StackStepInfo<T> {
+
+    private final StackStepInfo<T> child;
+
+    ChildStep(int callSite, StackStepInfo<?> previous, Object input, Object output, Exception exception, StackStepInfo<T> child) {
+        super(callSite, previous, input, output, exception);
+        this.child = child;
+    }
+
+    @Override
+    public StackStepInfo<T> child() {
+        return child;
+    }
+
+    @Override
+    StackStepInfo<T> retainOutput(Retention retention) {
+        return new ChildStep<>(callSite(), previous(), rawInput(), retention.retain(rawOutput()), exception(), child);
+    }
+
+    @Override
+    StackStepInfo<T> relink(StackStepInfo<?> previous) {
+        return new ChildStep<>(callSite(), previous, rawInput(), rawOutput(), exception(), child);
+    }
+}
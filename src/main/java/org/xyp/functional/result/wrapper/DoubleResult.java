@@ -0,0 +1,107 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * the outcome of a {@link DoubleResultOrError}, the double counterpart of {@link Result}<br/>
+ * a successful chain may have no value, when a filter did not match
+ */
+public final class DoubleResult {
+
+    private final double value;
+    private final boolean present;
+    private final Exception exception;
+    private final StackStepInfo<?> stackStepInfo;
+
+    DoubleResult(double value, boolean present, Exception exception, StackStepInfo<?> stackStepInfo) {
+        this.value = value;
+        this.present = present;
+        this.exception = exception;
+        this.stackStepInfo = stackStepInfo;
+    }
+
+    public boolean isSuccess() {
+        return null == exception;
+    }
+
+    /**
+     * @return whether the chain succeeded with a value
+     */
+    public boolean isPresent() {
+        return null == exception && present;
+    }
+
+    public double getAsDouble() {
+        if (null != exception) {
+            throw FailureRethrow.unchecked(exception, stackStepInfo);
+        }
+        if (!present) {
+            throw new NoSuchElementException("no value present");
+        }
+        return value;
+    }
+
+    public OptionalDouble getOption() {
+        if (null != exception) {
+            throw FailureRethrow.unchecked(exception, stackStepInfo);
+        }
+        return present ? OptionalDouble.of(value) : OptionalDouble.empty();
+    }
+
+    public Exception getError() {
+        return exception;
+    }
+
+    public <R extends RuntimeException> double getOrSpecError(Class<R> rteClass, Function<Exception, R> exceptionMapper) {
+        if (null == exception) {
+            return getAsDouble();
+        }
+        if (rteClass.isAssignableFrom(exception.getClass())) {
+            throw rteClass.cast(exception);
+        }
+        throw exceptionMapper.apply(exception);
+    }
+
+    public double getOrFallBackForError(ToDoubleFunction<Exception> exceptionMapper) {
+        return null == exception ? getAsDouble() : exceptionMapper.applyAsDouble(exception);
+    }
+
+    public DoubleResult ifError(Consumer<Exception> consumer) {
+        if (null != exception) {
+            consumer.accept(exception);
+        }
+        return this;
+    }
+
+    public Optional<StackStepInfo<?>> getStackStepInfo() {
+        return Optional.ofNullable(stackStepInfo);
+    }
+
+    /**
+     * @return this outcome as a {@link Result}, a missing value becomes null
+     */
+    @SuppressWarnings("unchecked")
+    public Result<Double, Exception> boxed() {
+        final var trace = (StackStepInfo<Double>) stackStepInfo;
+        if (null != exception) {
+            return Result.failure(exception, trace);
+        }
+        return Result.success(present ? value : null, trace);
+    }
+
+    public DoubleResult traceDebugOrError(
+        BooleanSupplier needDebug, Consumer<String> debugLogger,
+        BooleanSupplier needError, Consumer<String> errLogger
+    ) {
+        if ((isSuccess() && needDebug.getAsBoolean()) || (!isSuccess() && needError.getAsBoolean())) {
+            boxed().traceDebugOrError(needDebug, debugLogger, needError, errLogger);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,214 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.*;
+
+import java.util.OptionalDouble;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+
+/**
+ * a strict chain of double values, as {@link EagerResultOrError} but without boxing them<br/>
+ * a value is only boxed when a step is traced with it: with {@link TraceMode#OFF}, {@link TraceMode#ERRORS_ONLY} or
+ * {@link TraceMode#TAIL} a successful step neither boxes its value nor creates a {@link StackStepInfo}, and only a
+ * failing step captures its call site. {@link TraceMode#TAIL} keeps only the failing steps, as with
+ * {@link TraceMode#ERRORS_ONLY}<br/>
+ * a failed or filtered out chain skips the following steps, and returns the same instance
+ */
+public final class DoubleResultOrError {
+
+    private final double value;
+    /**
+     * false once a filter did not match
+     */
+    private final boolean present;
+    private final Exception exception;
+    /**
+     * the last step traced, null if there is none
+     */
+    private final StackStepInfo<?> trace;
+    private final Tracer tracer;
+
+    DoubleResultOrError(double value, boolean present, Exception exception, StackStepInfo<?> trace, Tracer tracer) {
+        this.value = value;
+        this.present = present;
+        this.exception = exception;
+        this.trace = trace;
+        this.tracer = tracer;
+    }
+
+    public static DoubleResultOrError of(double value) {
+        return of(TraceConfig.getDefaultMode(), value);
+    }
+
+    public static DoubleResultOrError of(TraceMode traceMode, double value) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, null);
+        final var tracer = base.at(callSite);
+        return new DoubleResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    public static DoubleResultOrError on(ExceptionalDoubleSupplier supplier) {
+        return on(TraceConfig.getDefaultMode(), supplier);
+    }
+
+    public static DoubleResultOrError on(TraceMode traceMode, ExceptionalDoubleSupplier supplier) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, supplier);
+        final var tracer = base.at(callSite);
+        final double value;
+        try {
+            value = supplier.getAsDouble();
+        } catch (Exception exception) {
+            return new DoubleResultOrError(0.0, true, exception, PrimitiveSteps.failedSource(tracer, callSite, supplier, exception), tracer);
+        }
+        return new DoubleResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    /**
+     * continues after the given step with its value, see mapToDouble of the object chains
+     */
+    static <R> DoubleResultOrError from(StackStepInfo<R> previous, ExceptionalToDoubleFunction<? super R> mapper, Tracer tracer) {
+        final var trace = PrimitiveSteps.continued(tracer, previous);
+        final var input = previous.output();
+        if (previous.isError() || null == input) {
+            return new DoubleResultOrError(0.0, previous.isError(), previous.exception(), trace, tracer);
+        }
+        final double mapped;
+        try {
+            mapped = mapper.applyAsDouble(input);
+        } catch (Exception exception) {
+            return new DoubleResultOrError(0.0, true, exception, PrimitiveSteps.failed(tracer, trace, mapper, input, exception), tracer);
+        }
+        if (!tracer.tracesEveryStep()) {
+            return new DoubleResultOrError(mapped, true, null, null, tracer);
+        }
+        return new DoubleResultOrError(mapped, true, null, PrimitiveSteps.traced(tracer, trace, mapper, input, mapped), tracer);
+    }
+
+    private boolean skips() {
+        return null != exception || !present;
+    }
+
+    private DoubleResultOrError next(double output, Object function, double input) {
+        if (!tracer.tracesEveryStep()) {
+            return new DoubleResultOrError(output, true, null, null, tracer);
+        }
+        return new DoubleResultOrError(output, true, null, PrimitiveSteps.traced(tracer, trace, function, input, output), tracer);
+    }
+
+    private DoubleResultOrError failed(Exception failure, Object function, Object input) {
+        return new DoubleResultOrError(0.0, true, failure, PrimitiveSteps.failed(tracer, trace, function, input, failure), tracer);
+    }
+
+    /**
+     * @return the step standing for the state of this chain, with its value boxed
+     */
+    private <U> StackStepInfo<U> current() {
+        return PrimitiveSteps.current(tracer, trace, exception, present ? (Object) value : null);
+    }
+
+    public DoubleResultOrError map(ExceptionalDoubleUnaryOperator mapper) {
+        if (skips()) {
+            return this;
+        }
+        final double mapped;
+        try {
+            mapped = mapper.applyAsDouble(value);
+        } catch (Exception failure) {
+            return failed(failure, mapper, value);
+        }
+        return next(mapped, mapper, value);
+    }
+
+    public DoubleResultOrError filter(DoublePredicate predicate) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            if (predicate.test(value)) {
+                return this;
+            }
+        } catch (Exception failure) {
+            return failed(failure, predicate, value);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, predicate, null, null) : null;
+        return new DoubleResultOrError(0.0, false, null, step, tracer);
+    }
+
+    public DoubleResultOrError consume(ExceptionalDoubleConsumer consumer) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            consumer.accept(value);
+        } catch (Exception failure) {
+            return failed(failure, consumer, value);
+        }
+        return next(value, consumer, value);
+    }
+
+    public DoubleResultOrError mapOnError(ExceptionalToDoubleFunction<Exception> mapper) {
+        if (null == exception) {
+            return this;
+        }
+        final double recovered;
+        try {
+            recovered = mapper.applyAsDouble(exception);
+        } catch (Exception failure) {
+            return failed(failure, mapper, null);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, mapper, exception, recovered) : null;
+        return new DoubleResultOrError(recovered, true, null, step, tracer);
+    }
+
+    public DoubleResultOrError doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        if (null == exception) {
+            return this;
+        }
+        try {
+            consumer.accept(exception);
+        } catch (Exception failure) {
+            return failed(failure, consumer, null);
+        }
+        return failed(exception, consumer, null);
+    }
+
+    /**
+     * @return an object chain continuing from this one, the value is boxed once here
+     */
+    public <U> EagerResultOrError<U> mapToObj(ExceptionalDoubleFunction<? extends U> mapper) {
+        if (skips()) {
+            return EagerResultOrError.resume(current(), tracer);
+        }
+        final U mapped;
+        try {
+            mapped = mapper.apply(value);
+        } catch (Exception failure) {
+            return EagerResultOrError.resume(failed(failure, mapper, value).current(), tracer);
+        }
+        final var step = tracer.tracesEveryStep()
+            ? PrimitiveSteps.traced(tracer, trace, mapper, value, mapped)
+            : tracer.step(CallSites.NONE, null, null, mapped, null, null);
+        return EagerResultOrError.resume(step, tracer);
+    }
+
+    public EagerResultOrError<Double> boxed() {
+        return EagerResultOrError.resume(current(), tracer);
+    }
+
+    public double get() {
+        return getResult().getAsDouble();
+    }
+
+    public OptionalDouble getOption() {
+        return getResult().getOption();
+    }
+
+    public <E extends RuntimeException> double getOrSpecError(Class<E> target, Function<Exception, E> exceptionMapper) {
+        return getResult().getOrSpecError(target, exceptionMapper);
+    }
+
+    public DoubleResult getResult() {
+        return new DoubleResult(value, present, exception, PrimitiveSteps.result(tracer, trace, exception));
+    }
+}
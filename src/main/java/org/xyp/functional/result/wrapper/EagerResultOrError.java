@@ -0,0 +1,280 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.*;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * the strict counterpart of {@link ResultOrError}: every step runs as soon as it is added, so nothing is kept to be
+ * run later<br/>
+ * once a step fails, the following steps return the same instance without capturing a call site. unless every step
+ * is traced, a step only captures its call site when it fails, as with the primitive chains<br/>
+ * the trace it builds is the same as the one of a {@link ResultOrError} with the same steps
+ *
+ * @param <R>
+ */
+public final class EagerResultOrError<R> {
+
+    private final StackStepInfo<R> current;
+    private final Tracer tracer;
+
+    private EagerResultOrError(StackStepInfo<R> current, Tracer tracer) {
+        this.current = current;
+        this.tracer = tracer;
+    }
+
+    /**
+     * continues a chain from the given step, see the primitive chains
+     */
+    static <R> EagerResultOrError<R> resume(StackStepInfo<R> current, Tracer tracer) {
+        return new EagerResultOrError<>(current, tracer);
+    }
+
+    private <U> EagerResultOrError<U> next(StackStepInfo<U> step) {
+        return new EagerResultOrError<>(step, tracer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> EagerResultOrError<U> failed() {
+        return (EagerResultOrError<U>) this;
+    }
+
+    /**
+     * a step added to a chain not tracing every step is run untraced, and only traced with its call site when it fails
+     */
+    private <U> EagerResultOrError<U> next(StackStepInfo<U> step, Object function) {
+        if (step.isError() && step != current && !tracer.isOff() && !tracer.tracesEveryStep()) {
+            return next(tracer.step(captureCallSite(function), current, current.output(), null, step.exception(), null));
+        }
+        return next(step);
+    }
+
+    private int stepCallSite(Object function) {
+        return tracer.tracesEveryStep() ? captureCallSite(function) : CallSites.NONE;
+    }
+
+    private Tracer stepTracer() {
+        return tracer.tracesEveryStep() ? tracer : tracer.with(TraceMode.OFF);
+    }
+
+    private int captureCallSite(Object function) {
+        return ResultOrError.captureCallSite(tracer, function);
+    }
+
+    public static <T1> EagerResultOrError<T1> of(T1 t1) {
+        return of(TraceConfig.getDefaultMode(), t1);
+    }
+
+    public static <T1> EagerResultOrError<T1> of(TraceMode traceMode, T1 t1) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, null);
+        final var tracer = base.at(callSite);
+        return new EagerResultOrError<>(tracer.step(callSite, null, null, t1, null, null), tracer);
+    }
+
+    public static <R> EagerResultOrError<R> on(ExceptionalSupplier<R> supplier) {
+        return on(TraceConfig.getDefaultMode(), supplier);
+    }
+
+    public static <R> EagerResultOrError<R> on(TraceMode traceMode, ExceptionalSupplier<R> supplier) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, supplier);
+        final var tracer = base.at(callSite);
+        try {
+            return new EagerResultOrError<>(tracer.step(callSite, null, null, supplier.get(), null, null), tracer);
+        } catch (Exception exception) {
+            final var failingCallSite = CallSites.NONE == callSite ? ResultOrError.captureCallSite(tracer, supplier) : callSite;
+            return new EagerResultOrError<>(tracer.step(failingCallSite, null, null, null, exception, null), tracer);
+        }
+    }
+
+    public static EagerResultOrError<Void> doRun(ExceptionalRunnable runner) {
+        return doRun(TraceConfig.getDefaultMode(), runner);
+    }
+
+    public static EagerResultOrError<Void> doRun(TraceMode traceMode, ExceptionalRunnable runner) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, runner);
+        final var tracer = base.at(callSite);
+        try {
+            runner.run();
+            return new EagerResultOrError<>(tracer.step(callSite, null, null, (Void) null, null, null), tracer);
+        } catch (Exception exception) {
+            final var failingCallSite = CallSites.NONE == callSite ? ResultOrError.captureCallSite(tracer, runner) : callSite;
+            return new EagerResultOrError<>(tracer.step(failingCallSite, null, null, (Void) null, exception, null), tracer);
+        }
+    }
+
+    /**
+     * continues from an already computed result, its trace becomes the previous steps of this chain
+     */
+    public static <R> EagerResultOrError<R> from(Result<R, ? extends Exception> result) {
+        return from(TraceConfig.getDefaultMode(), result);
+    }
+
+    public static <R> EagerResultOrError<R> from(TraceMode traceMode, Result<R, ? extends Exception> result) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var previous = result.getStackStepInfo().orElse(null);
+        final var callSite = ResultOrError.sourceCallSite(base, null);
+        final var tracer = base.at(callSite);
+        if (result instanceof Success<R, ? extends Exception> success) {
+            return new EagerResultOrError<>(tracer.step(callSite, previous, null, success.value(), null, null), tracer);
+        }
+        final var failingCallSite = CallSites.NONE == callSite ? ResultOrError.captureCallSite(tracer) : callSite;
+        return new EagerResultOrError<>(tracer.step(failingCallSite, previous, null, null, result.getError(), null), tracer);
+    }
+
+    /**
+     * @return this chain, with the steps added from now on traced with the given retention, see {@link Retention}
+     */
+    public EagerResultOrError<R> withRetention(Retention retention) {
+        return new EagerResultOrError<>(current, tracer.with(Objects.requireNonNull(retention, "retention")));
+    }
+
+    /**
+     * @return this chain, with the steps added from now on folding consecutive steps of the same call site or not, see
+     * {@link TraceConfig#setFoldRepeats(boolean)}
+     */
+    public EagerResultOrError<R> withRepeatFolding(boolean foldRepeats) {
+        return new EagerResultOrError<>(current, tracer.withRepeatFolding(foldRepeats));
+    }
+
+    public EagerResultOrError<R> filter(Predicate<? super R> predicate) {
+        if (current.isError()) {
+            return this;
+        }
+        return next(ResultOrError.getStackStepInfoByFilter(predicate, current, stepCallSite(predicate), stepTracer()), predicate);
+    }
+
+    public EagerResultOrError<R> fallbackForEmpty(Supplier<R> emptySupplier) {
+        if (current.isError()) {
+            return this;
+        }
+        return next(ResultOrError.getStackStepInfoByFallback(emptySupplier, current, stepCallSite(emptySupplier), stepTracer()), emptySupplier);
+    }
+
+    public EagerResultOrError<R> consume(ExceptionalConsumer<? super R> consumer) {
+        if (current.isError()) {
+            return this;
+        }
+        return next(ResultOrError.getStackByConsume(consumer, current, stepCallSite(consumer), stepTracer()), consumer);
+    }
+
+    public EagerResultOrError<R> doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        if (!current.isError()) {
+            return this;
+        }
+        return next(ResultOrError.getStackStepInfoByDoOnError(consumer, current, stepCallSite(consumer), stepTracer()), consumer);
+    }
+
+    public <U> EagerResultOrError<U> map(ExceptionalFunction<? super R, ? extends U> mapper) {
+        if (current.isError()) {
+            return failed();
+        }
+        return next(ResultOrError.getStackStepInfoByMapper(mapper, current, stepCallSite(mapper), stepTracer()), mapper);
+    }
+
+    public <U> EagerResultOrError<U> noExMap(Function<? super R, ? extends U> mapper) {
+        return map(mapper::apply);
+    }
+
+    public EagerResultOrError<R> mapOnError(ExceptionalFunction<Exception, ? extends R> mapper) {
+        if (!current.isError()) {
+            return this;
+        }
+        return next(ResultOrError.getStackStepInfoByMapOnError(mapper, current, stepCallSite(mapper), stepTracer()), mapper);
+    }
+
+    public <U> EagerResultOrError<U> flatMap(Function<? super R, EagerResultOrError<U>> mapper) {
+        if (current.isError()) {
+            return failed();
+        }
+        final var lastOutput = current.output();
+        if (null == lastOutput) {
+            return failed();
+        }
+        final var child = mapper.apply(lastOutput);
+        final var callSite = tracer.tracesEveryStep() || child.current.isError() ? captureCallSite(mapper) : CallSites.NONE;
+        return next(ResultOrError.getStackStepInfoByJoin(current, ResultOrError.toResult(child.current, child.tracer), callSite, tracer));
+    }
+
+    public EagerResultOrError<Optional<R>> continueWithOptional() {
+        if (current.isError()) {
+            return failed();
+        }
+        return next(ResultOrError.getStackStepInfoByOptional(current, tracer.tracesEveryStep() ? ResultOrError.captureCallSite(tracer) : CallSites.NONE, tracer));
+    }
+
+    /**
+     * @return a chain of int values continuing from this one, see {@link IntResultOrError}
+     */
+    public IntResultOrError mapToInt(ExceptionalToIntFunction<? super R> mapper) {
+        return IntResultOrError.from(current, mapper, tracer);
+    }
+
+    /**
+     * @return a chain of long values continuing from this one, see {@link LongResultOrError}
+     */
+    public LongResultOrError mapToLong(ExceptionalToLongFunction<? super R> mapper) {
+        return LongResultOrError.from(current, mapper, tracer);
+    }
+
+    /**
+     * @return a chain of double values continuing from this one, see {@link DoubleResultOrError}
+     */
+    public DoubleResultOrError mapToDouble(ExceptionalToDoubleFunction<? super R> mapper) {
+        return DoubleResultOrError.from(current, mapper, tracer);
+    }
+
+    /**
+     * the trace of a successful chain is dropped with it, no {@link Result} is made for it
+     */
+    public R get() {
+        if (current.isError()) {
+            return getResult().get();
+        }
+        tracer.trace(current, false);
+        return current.output();
+    }
+
+    public Optional<R> getOption() {
+        return Optional.ofNullable(get());
+    }
+
+    public <E extends RuntimeException> R getOrSpecError(Class<E> target, Function<Exception, E> exceptionMapper) {
+        return getResult().getOrSpecError(target, exceptionMapper);
+    }
+
+    /**
+     * @see Result#getOrRecover(Class)
+     */
+    public R getOrRecover(Class<R> valueType) {
+        return getResult().getOrRecover(valueType);
+    }
+
+    public <E extends RuntimeException> R getOrSpecErrorBy(Class<E> target, Function<Result<R, Exception>, E> exceptionMapper) {
+        return getResult().getOrSpecErrorBy(target, exceptionMapper);
+    }
+
+    public <E extends RuntimeException> Optional<R> getOptionOrSpecError(Class<E> target, Function<Exception, E> exceptionMapper) {
+        return getResult().getOptionOrSpecError(target, exceptionMapper);
+    }
+
+    public <E extends RuntimeException> Optional<R> getOptionOrSpecErrorBy(Class<E> target, Function<Result<R, Exception>, E> exceptionMapper) {
+        return getResult().getOptionOrSpecErrorBy(target, exceptionMapper);
+    }
+
+    public Result<R, Exception> getResult() {
+        final var callSite = current.isError() || tracer.tracesEveryStep() ? ResultOrError.captureCallSite(tracer) : CallSites.NONE;
+        return ResultOrError.toResult(tracer.step(callSite, current, current.rawInput(), current.output(), current.exception(), null), tracer);
+    }
+
+    public <W extends RuntimeException>
+    Result<R, W> getResult(Class<W> target, Function<Exception, W> exceptionMapper) {
+        return getResult().mapError(target, exceptionMapper);
+    }
+}
@@ -0,0 +1,178 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.FunctionException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * global registry of what an exception type is translated to, and of how it is recovered from<br/>
+ * a lookup is resolved once per exception class, from the most specific registered superclass, and kept in a
+ * {@link ClassValue} until the next registration. the cause chain of an exception is walked until a registered type is
+ * found<br/>
+ * {@link Result#get()}, {@link Result#getOption()}, {@link Result#mapError()} and
+ * {@link Result#getOrRecover(Class)} use it, a result throws as before while nothing is registered
+ */
+public final class ErrorMappings {
+    private ErrorMappings() {
+    }
+
+    /**
+     * the longest cause chain walked
+     */
+    static final int MAX_CAUSES = 16;
+
+    private record Registered(
+        Function<Exception, ? extends RuntimeException> translation,
+        Map<Class<?>, Function<Exception, ?>> recoveries
+    ) {
+    }
+
+    /**
+     * what applies to an exception class, resolved for one version of the registry
+     */
+    private record Resolved(
+        int version,
+        Function<Exception, ? extends RuntimeException> translation,
+        Map<Class<?>, Function<Exception, ?>> recoveries
+    ) {
+    }
+
+    private static final ConcurrentHashMap<Class<?>, Registered> REGISTERED = new ConcurrentHashMap<>();
+    private static volatile int version = 0;
+
+    private static final ClassValue<Resolved> BY_TYPE = new ClassValue<>() {
+        @Override
+        protected Resolved computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * @param type        the exception type, its subclasses included, unless they are registered themselves
+     * @param translation the runtime exception thrown instead of it
+     */
+    public static <X extends Exception> void translate(
+        Class<X> type,
+        Function<? super X, ? extends RuntimeException> translation
+    ) {
+        Objects.requireNonNull(translation, "translation");
+        update(type, registered -> new Registered(exception -> translation.apply(type.cast(exception)), registered.recoveries()));
+    }
+
+    /**
+     * @param type      the exception type, its subclasses included, unless they are registered themselves
+     * @param valueType the value type of the results recovered
+     * @param recovery  the value a result failed with the exception gets instead, see {@link Result#getOrRecover(Class)}
+     */
+    public static <X extends Exception, T> void recover(
+        Class<X> type,
+        Class<T> valueType,
+        Function<? super X, ? extends T> recovery
+    ) {
+        Objects.requireNonNull(valueType, "value type");
+        Objects.requireNonNull(recovery, "recovery");
+        update(type, registered -> {
+            final var recoveries = new HashMap<>(registered.recoveries());
+            recoveries.put(valueType, exception -> recovery.apply(type.cast(exception)));
+            return new Registered(registered.translation(), Map.copyOf(recoveries));
+        });
+    }
+
+    /**
+     * drops every translation and recovery
+     */
+    public static synchronized void clear() {
+        REGISTERED.clear();
+        version++;
+    }
+
+    private static synchronized void update(Class<? extends Exception> type, Function<Registered, Registered> change) {
+        Objects.requireNonNull(type, "exception type");
+        REGISTERED.put(type, change.apply(REGISTERED.getOrDefault(type, new Registered(null, Map.of()))));
+        version++;
+    }
+
+    /**
+     * @return the translation registered for the exception or one of its causes, null if there is none
+     */
+    static RuntimeException translation(Exception exception) {
+        if (version == 0) {
+            return null;
+        }
+        Throwable current = exception;
+        for (int depth = 0; depth < MAX_CAUSES && current instanceof Exception cause; depth++) {
+            final var translation = lookup(cause.getClass()).translation();
+            if (null != translation) {
+                return translation.apply(cause);
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * @return the registered translation, the exception itself when it is a runtime one, else a {@link FunctionException}
+     */
+    static RuntimeException unchecked(Exception exception) {
+        final var translated = translation(exception);
+        if (null != translated) {
+            return translated;
+        }
+        return exception instanceof RuntimeException runtimeException ? runtimeException : new FunctionException(exception);
+    }
+
+    /**
+     * @param trace the trace of the failed result
+     * @return the recovery of the exception or one of its causes for values of the type
+     * @throws RuntimeException as {@link Result#get()} does, if there is none
+     */
+    static <T> T recover(Exception exception, Class<T> valueType, StackStepInfo<?> trace) {
+        if (version != 0) {
+            Throwable current = exception;
+            for (int depth = 0; depth < MAX_CAUSES && current instanceof Exception cause; depth++) {
+                final var recovery = lookup(cause.getClass()).recoveries().get(valueType);
+                if (null != recovery) {
+                    return valueType.cast(recovery.apply(cause));
+                }
+                if (current.getCause() == current) {
+                    break;
+                }
+                current = current.getCause();
+            }
+        }
+        throw FailureRethrow.unchecked(exception, trace);
+    }
+
+    private static Resolved lookup(Class<?> type) {
+        final var resolved = BY_TYPE.get(type);
+        if (resolved.version() == version) {
+            return resolved;
+        }
+        BY_TYPE.remove(type);
+        return BY_TYPE.get(type);
+    }
+
+    private static Resolved resolve(Class<?> type) {
+        final var current = version;
+        Function<Exception, ? extends RuntimeException> translation = null;
+        final var recoveries = new HashMap<Class<?>, Function<Exception, ?>>();
+        for (var c = type; null != c && c != Object.class; c = c.getSuperclass()) {
+            final var registered = REGISTERED.get(c);
+            if (null == registered) {
+                continue;
+            }
+            if (null == translation) {
+                translation = registered.translation();
+            }
+            registered.recoveries().forEach(recoveries::putIfAbsent);
+        }
+        return new Resolved(current, translation, Map.copyOf(recoveries));
+    }
+}
@@ -1,8 +1,5 @@
 package org.xyp.functional.result.wrapper;
 
-import org.xyp.functional.result.Fun;
-import org.xyp.functional.result.FunctionException;
-
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -18,7 +15,7 @@ public record Failure<T, E extends Exception>(
 
     @Override
     public T get() {
-        throw Fun.convertRte(exception, RuntimeException.class, FunctionException::new);
+        throw FailureRethrow.unchecked(exception, stackStepInfo);
     }
 
     @Override
@@ -44,7 +41,7 @@ public record Failure<T, E extends Exception>(
 
     @Override
     public Optional<T> getOption() {
-        throw Fun.convertRte(exception, RuntimeException.class, FunctionException::new);
+        throw FailureRethrow.unchecked(exception, stackStepInfo);
     }
 
     @Override
@@ -80,9 +77,21 @@ public record Failure<T, E extends Exception>(
         return exceptionMapper.apply(exception);
     }
 
+    /**
+     * @return the trace of this result, copied out of the pool when it was obtained in a {@link TraceArena} scope
+     */
+    @Override
+    public StackStepInfo<T> stackStepInfo() {
+        return ScopedTrace.detach(stackStepInfo);
+    }
+
     @Override
     public Optional<StackStepInfo<T>> getStackStepInfo() {
-        return Optional.ofNullable(stackStepInfo);
+        return Optional.ofNullable(stackStepInfo());
+    }
+
+    StackStepInfo<T> trace() {
+        return stackStepInfo;
     }
 
     @Override
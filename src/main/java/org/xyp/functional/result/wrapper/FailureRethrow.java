@@ -0,0 +1,49 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.FunctionException;
+
+/**
+ * what {@link Result#get()} and {@link Result#getOption()} throw for a failed result holding a checked exception<br/>
+ * a runtime exception is thrown as it is, an exception translated by {@link ErrorMappings} is thrown as translated
+ */
+public enum FailureRethrow {
+    /**
+     * the exception is wrapped in a new {@link FunctionException}, with the stack trace of the caller
+     */
+    WRAP,
+    /**
+     * the exception is wrapped in a {@link TracedFunctionException}, the stack is not walked, the call sites of the
+     * trace of the result are its stack trace
+     */
+    TRACE,
+    /**
+     * the checked exception itself is thrown, although the method does not declare it
+     */
+    ORIGINAL;
+
+    /**
+     * @param exception the error of a failed result
+     * @param trace     the trace of the result as held, may be null. it is only copied out of a {@link TraceArena}
+     *                  scope for {@link #TRACE}
+     * @return the exception to throw, with {@link #ORIGINAL} the checked exception is thrown right away
+     */
+    static RuntimeException unchecked(Exception exception, StackStepInfo<?> trace) {
+        final var translated = ErrorMappings.translation(exception);
+        if (null != translated) {
+            return translated;
+        }
+        if (exception instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return switch (TraceConfig.getFailureRethrow()) {
+            case WRAP -> new FunctionException(exception);
+            case TRACE -> new TracedFunctionException(exception, ScopedTrace.detach(trace));
+            case ORIGINAL -> sneakyThrow(exception);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X extends Exception> RuntimeException sneakyThrow(Exception exception) throws X {
+        throw (X) exception;
+    }
+}
@@ -0,0 +1,140 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalBiFunction;
+import org.xyp.functional.result.ExceptionalFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * divides an input on a {@link ForkJoinPool} and combines the results of its parts, see
+ * {@link ResultOrError#forkJoin(Object, ExceptionalFunction, ExceptionalFunction, ExceptionalBiFunction, Predicate, ForkJoinPool)}<br/>
+ * only a failure gets a trace of its own: the step of the leaf, split or combination failed, with its input. once a
+ * part failed the parts not started are cancelled and the ones running stop before their next split or leaf
+ */
+final class ForkJoin<T, R> {
+    private final ExceptionalFunction<? super T, ? extends List<? extends T>> splitter;
+    private final ExceptionalFunction<? super T, ? extends R> leafFn;
+    private final ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner;
+    private final Predicate<? super T> threshold;
+    private final int callSite;
+    private final Tracer tracer;
+    private final AtomicReference<Result<R, Exception>> failure = new AtomicReference<>();
+
+    private ForkJoin(
+        ExceptionalFunction<? super T, ? extends List<? extends T>> splitter,
+        ExceptionalFunction<? super T, ? extends R> leafFn,
+        ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner,
+        Predicate<? super T> threshold,
+        int callSite,
+        Tracer tracer
+    ) {
+        this.splitter = splitter;
+        this.leafFn = leafFn;
+        this.combiner = combiner;
+        this.threshold = threshold;
+        this.callSite = callSite;
+        this.tracer = tracer;
+    }
+
+    /**
+     * the value of a part, null when it stopped on a failure
+     */
+    private record Value<R>(R value) {
+    }
+
+    static <T, R> StackStepInfo<R> run(
+        T input,
+        ExceptionalFunction<? super T, ? extends List<? extends T>> splitter,
+        ExceptionalFunction<? super T, ? extends R> leafFn,
+        ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner,
+        Predicate<? super T> threshold,
+        ForkJoinPool pool,
+        int callSite,
+        Tracer tracer
+    ) {
+        final var forkJoin = new ForkJoin<T, R>(splitter, leafFn, combiner, threshold, callSite, tracer.with(tracer.mode()));
+        final Value<R> value;
+        try {
+            value = pool.invoke(forkJoin.new Part(input));
+        } catch (RejectedExecutionException exception) {
+            return tracer.step(callSite, null, null, null, exception, null);
+        }
+        final var failed = forkJoin.failure.get();
+        if (null != failed) {
+            return tracer.step(callSite, null, null, null, failed.getError(), ScopedTrace.childOf(failed));
+        }
+        return tracer.step(callSite, null, input, value.value(), null, null);
+    }
+
+    private Value<R> fail(Object input, Exception exception) {
+        final var node = tracer.<R>step(callSite, null, input, null, exception, null);
+        failure.compareAndSet(null, Result.failure(exception, tracer.trace(node, true)));
+        return null;
+    }
+
+    private final class Part extends RecursiveTask<Value<R>> {
+        private static final long serialVersionUID = 1L;
+
+        private final T input;
+
+        Part(T input) {
+            this.input = input;
+        }
+
+        @Override
+        protected Value<R> compute() {
+            if (null != failure.get()) {
+                return null;
+            }
+            final List<? extends T> parts;
+            try {
+                parts = threshold.test(input) ? List.of() : splitter.apply(input);
+            } catch (Exception exception) {
+                return fail(input, exception);
+            }
+            if (parts.size() < 2) {
+                try {
+                    return new Value<>(leafFn.apply(input));
+                } catch (Exception exception) {
+                    return fail(input, exception);
+                }
+            }
+
+            final var forked = new ArrayList<Part>(parts.size() - 1);
+            for (int i = parts.size() - 1; i > 0; i--) {
+                final var part = new Part(parts.get(i));
+                part.fork();
+                forked.add(part);
+            }
+            var combined = new Part(parts.get(0)).compute();
+            for (int i = forked.size() - 1; i >= 0 && null != combined; i--) {
+                if (null != failure.get()) {
+                    combined = null;
+                    break;
+                }
+                final var next = forked.get(i).join();
+                if (null == next) {
+                    combined = null;
+                    break;
+                }
+                try {
+                    combined = new Value<>(combiner.apply(combined.value(), next.value()));
+                } catch (Exception exception) {
+                    combined = fail(input, exception);
+                }
+            }
+            if (null == combined) {
+                for (var part : forked) {
+                    part.cancel(true);
+                }
+            }
+            return combined;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.*;
+
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+import java.util.function.Function;
+
+/**
+ * a strict chain of int values, as {@link EagerResultOrError} but without boxing them<br/>
+ * a value is only boxed when a step is traced with it: with {@link TraceMode#OFF}, {@link TraceMode#ERRORS_ONLY} or
+ * {@link TraceMode#TAIL} a successful step neither boxes its value nor creates a {@link StackStepInfo}, and only a
+ * failing step captures its call site. {@link TraceMode#TAIL} keeps only the failing steps, as with
+ * {@link TraceMode#ERRORS_ONLY}<br/>
+ * a failed or filtered out chain skips the following steps, and returns the same instance
+ */
+public final class IntResultOrError {
+
+    private final int value;
+    /**
+     * false once a filter did not match
+     */
+    private final boolean present;
+    private final Exception exception;
+    /**
+     * the last step traced, null if there is none
+     */
+    private final StackStepInfo<?> trace;
+    private final Tracer tracer;
+
+    IntResultOrError(int value, boolean present, Exception exception, StackStepInfo<?> trace, Tracer tracer) {
+        this.value = value;
+        this.present = present;
+        this.exception = exception;
+        this.trace = trace;
+        this.tracer = tracer;
+    }
+
+    public static IntResultOrError of(int value) {
+        return of(TraceConfig.getDefaultMode(), value);
+    }
+
+    public static IntResultOrError of(TraceMode traceMode, int value) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, null);
+        final var tracer = base.at(callSite);
+        return new IntResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    public static IntResultOrError on(ExceptionalIntSupplier supplier) {
+        return on(TraceConfig.getDefaultMode(), supplier);
+    }
+
+    public static IntResultOrError on(TraceMode traceMode, ExceptionalIntSupplier supplier) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, supplier);
+        final var tracer = base.at(callSite);
+        final int value;
+        try {
+            value = supplier.getAsInt();
+        } catch (Exception exception) {
+            return new IntResultOrError(0, true, exception, PrimitiveSteps.failedSource(tracer, callSite, supplier, exception), tracer);
+        }
+        return new IntResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    /**
+     * continues after the given step with its value, see mapToInt of the object chains
+     */
+    static <R> IntResultOrError from(StackStepInfo<R> previous, ExceptionalToIntFunction<? super R> mapper, Tracer tracer) {
+        final var trace = PrimitiveSteps.continued(tracer, previous);
+        final var input = previous.output();
+        if (previous.isError() || null == input) {
+            return new IntResultOrError(0, previous.isError(), previous.exception(), trace, tracer);
+        }
+        final int mapped;
+        try {
+            mapped = mapper.applyAsInt(input);
+        } catch (Exception exception) {
+            return new IntResultOrError(0, true, exception, PrimitiveSteps.failed(tracer, trace, mapper, input, exception), tracer);
+        }
+        if (!tracer.tracesEveryStep()) {
+            return new IntResultOrError(mapped, true, null, null, tracer);
+        }
+        return new IntResultOrError(mapped, true, null, PrimitiveSteps.traced(tracer, trace, mapper, input, mapped), tracer);
+    }
+
+    private boolean skips() {
+        return null != exception || !present;
+    }
+
+    private IntResultOrError next(int output, Object function, int input) {
+        if (!tracer.tracesEveryStep()) {
+            return new IntResultOrError(output, true, null, null, tracer);
+        }
+        return new IntResultOrError(output, true, null, PrimitiveSteps.traced(tracer, trace, function, input, output), tracer);
+    }
+
+    private IntResultOrError failed(Exception failure, Object function, Object input) {
+        return new IntResultOrError(0, true, failure, PrimitiveSteps.failed(tracer, trace, function, input, failure), tracer);
+    }
+
+    /**
+     * @return the step standing for the state of this chain, with its value boxed
+     */
+    private <U> StackStepInfo<U> current() {
+        return PrimitiveSteps.current(tracer, trace, exception, present ? (Object) value : null);
+    }
+
+    public IntResultOrError map(ExceptionalIntUnaryOperator mapper) {
+        if (skips()) {
+            return this;
+        }
+        final int mapped;
+        try {
+            mapped = mapper.applyAsInt(value);
+        } catch (Exception failure) {
+            return failed(failure, mapper, value);
+        }
+        return next(mapped, mapper, value);
+    }
+
+    public IntResultOrError filter(IntPredicate predicate) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            if (predicate.test(value)) {
+                return this;
+            }
+        } catch (Exception failure) {
+            return failed(failure, predicate, value);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, predicate, null, null) : null;
+        return new IntResultOrError(0, false, null, step, tracer);
+    }
+
+    public IntResultOrError consume(ExceptionalIntConsumer consumer) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            consumer.accept(value);
+        } catch (Exception failure) {
+            return failed(failure, consumer, value);
+        }
+        return next(value, consumer, value);
+    }
+
+    public IntResultOrError mapOnError(ExceptionalToIntFunction<Exception> mapper) {
+        if (null == exception) {
+            return this;
+        }
+        final int recovered;
+        try {
+            recovered = mapper.applyAsInt(exception);
+        } catch (Exception failure) {
+            return failed(failure, mapper, null);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, mapper, exception, recovered) : null;
+        return new IntResultOrError(recovered, true, null, step, tracer);
+    }
+
+    public IntResultOrError doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        if (null == exception) {
+            return this;
+        }
+        try {
+            consumer.accept(exception);
+        } catch (Exception failure) {
+            return failed(failure, consumer, null);
+        }
+        return failed(exception, consumer, null);
+    }
+
+    /**
+     * @return this chain with its value widened to long
+     */
+    public LongResultOrError asLong() {
+        return new LongResultOrError(value, present, exception, trace, tracer);
+    }
+
+    /**
+     * @return this chain with its value widened to double
+     */
+    public DoubleResultOrError asDouble() {
+        return new DoubleResultOrError(value, present, exception, trace, tracer);
+    }
+
+    /**
+     * @return an object chain continuing from this one, the value is boxed once here
+     */
+    public <U> EagerResultOrError<U> mapToObj(ExceptionalIntFunction<? extends U> mapper) {
+        if (skips()) {
+            return EagerResultOrError.resume(current(), tracer);
+        }
+        final U mapped;
+        try {
+            mapped = mapper.apply(value);
+        } catch (Exception failure) {
+            return EagerResultOrError.resume(failed(failure, mapper, value).current(), tracer);
+        }
+        final var step = tracer.tracesEveryStep()
+            ? PrimitiveSteps.traced(tracer, trace, mapper, value, mapped)
+            : tracer.step(CallSites.NONE, null, null, mapped, null, null);
+        return EagerResultOrError.resume(step, tracer);
+    }
+
+    public EagerResultOrError<Integer> boxed() {
+        return EagerResultOrError.resume(current(), tracer);
+    }
+
+    public int get() {
+        return getResult().getAsInt();
+    }
+
+    public OptionalInt getOption() {
+        return getResult().getOption();
+    }
+
+    public <E extends RuntimeException> int getOrSpecError(Class<E> target, Function<Exception, E> exceptionMapper) {
+        return getResult().getOrSpecError(target, exceptionMapper);
+    }
+
+    public IntResult getResult() {
+        return new IntResult(value, present, exception, PrimitiveSteps.result(tracer, trace, exception));
+    }
+}
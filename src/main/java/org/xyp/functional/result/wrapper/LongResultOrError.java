@@ -0,0 +1,221 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.*;
+
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+import java.util.function.Function;
+
+/**
+ * a strict chain of long values, as {@link EagerResultOrError} but without boxing them<br/>
+ * a value is only boxed when a step is traced with it: with {@link TraceMode#OFF}, {@link TraceMode#ERRORS_ONLY} or
+ * {@link TraceMode#TAIL} a successful step neither boxes its value nor creates a {@link StackStepInfo}, and only a
+ * failing step captures its call site. {@link TraceMode#TAIL} keeps only the failing steps, as with
+ * {@link TraceMode#ERRORS_ONLY}<br/>
+ * a failed or filtered out chain skips the following steps, and returns the same instance
+ */
+public final class LongResultOrError {
+
+    private final long value;
+    /**
+     * false once a filter did not match
+     */
+    private final boolean present;
+    private final Exception exception;
+    /**
+     * the last step traced, null if there is none
+     */
+    private final StackStepInfo<?> trace;
+    private final Tracer tracer;
+
+    LongResultOrError(long value, boolean present, Exception exception, StackStepInfo<?> trace, Tracer tracer) {
+        this.value = value;
+        this.present = present;
+        this.exception = exception;
+        this.trace = trace;
+        this.tracer = tracer;
+    }
+
+    public static LongResultOrError of(long value) {
+        return of(TraceConfig.getDefaultMode(), value);
+    }
+
+    public static LongResultOrError of(TraceMode traceMode, long value) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, null);
+        final var tracer = base.at(callSite);
+        return new LongResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    public static LongResultOrError on(ExceptionalLongSupplier supplier) {
+        return on(TraceConfig.getDefaultMode(), supplier);
+    }
+
+    public static LongResultOrError on(TraceMode traceMode, ExceptionalLongSupplier supplier) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.sourceCallSite(base, supplier);
+        final var tracer = base.at(callSite);
+        final long value;
+        try {
+            value = supplier.getAsLong();
+        } catch (Exception exception) {
+            return new LongResultOrError(0L, true, exception, PrimitiveSteps.failedSource(tracer, callSite, supplier, exception), tracer);
+        }
+        return new LongResultOrError(value, true, null, tracer.tracesEveryStep() ? tracer.step(callSite, null, null, value, null, null) : null, tracer);
+    }
+
+    /**
+     * continues after the given step with its value, see mapToLong of the object chains
+     */
+    static <R> LongResultOrError from(StackStepInfo<R> previous, ExceptionalToLongFunction<? super R> mapper, Tracer tracer) {
+        final var trace = PrimitiveSteps.continued(tracer, previous);
+        final var input = previous.output();
+        if (previous.isError() || null == input) {
+            return new LongResultOrError(0L, previous.isError(), previous.exception(), trace, tracer);
+        }
+        final long mapped;
+        try {
+            mapped = mapper.applyAsLong(input);
+        } catch (Exception exception) {
+            return new LongResultOrError(0L, true, exception, PrimitiveSteps.failed(tracer, trace, mapper, input, exception), tracer);
+        }
+        if (!tracer.tracesEveryStep()) {
+            return new LongResultOrError(mapped, true, null, null, tracer);
+        }
+        return new LongResultOrError(mapped, true, null, PrimitiveSteps.traced(tracer, trace, mapper, input, mapped), tracer);
+    }
+
+    private boolean skips() {
+        return null != exception || !present;
+    }
+
+    private LongResultOrError next(long output, Object function, long input) {
+        if (!tracer.tracesEveryStep()) {
+            return new LongResultOrError(output, true, null, null, tracer);
+        }
+        return new LongResultOrError(output, true, null, PrimitiveSteps.traced(tracer, trace, function, input, output), tracer);
+    }
+
+    private LongResultOrError failed(Exception failure, Object function, Object input) {
+        return new LongResultOrError(0L, true, failure, PrimitiveSteps.failed(tracer, trace, function, input, failure), tracer);
+    }
+
+    /**
+     * @return the step standing for the state of this chain, with its value boxed
+     */
+    private <U> StackStepInfo<U> current() {
+        return PrimitiveSteps.current(tracer, trace, exception, present ? (Object) value : null);
+    }
+
+    public LongResultOrError map(ExceptionalLongUnaryOperator mapper) {
+        if (skips()) {
+            return this;
+        }
+        final long mapped;
+        try {
+            mapped = mapper.applyAsLong(value);
+        } catch (Exception failure) {
+            return failed(failure, mapper, value);
+        }
+        return next(mapped, mapper, value);
+    }
+
+    public LongResultOrError filter(LongPredicate predicate) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            if (predicate.test(value)) {
+                return this;
+            }
+        } catch (Exception failure) {
+            return failed(failure, predicate, value);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, predicate, null, null) : null;
+        return new LongResultOrError(0L, false, null, step, tracer);
+    }
+
+    public LongResultOrError consume(ExceptionalLongConsumer consumer) {
+        if (skips()) {
+            return this;
+        }
+        try {
+            consumer.accept(value);
+        } catch (Exception failure) {
+            return failed(failure, consumer, value);
+        }
+        return next(value, consumer, value);
+    }
+
+    public LongResultOrError mapOnError(ExceptionalToLongFunction<Exception> mapper) {
+        if (null == exception) {
+            return this;
+        }
+        final long recovered;
+        try {
+            recovered = mapper.applyAsLong(exception);
+        } catch (Exception failure) {
+            return failed(failure, mapper, null);
+        }
+        final var step = tracer.tracesEveryStep() ? PrimitiveSteps.traced(tracer, trace, mapper, exception, recovered) : null;
+        return new LongResultOrError(recovered, true, null, step, tracer);
+    }
+
+    public LongResultOrError doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        if (null == exception) {
+            return this;
+        }
+        try {
+            consumer.accept(exception);
+        } catch (Exception failure) {
+            return failed(failure, consumer, null);
+        }
+        return failed(exception, consumer, null);
+    }
+
+    /**
+     * @return this chain with its value widened to double
+     */
+    public DoubleResultOrError asDouble() {
+        return new DoubleResultOrError(value, present, exception, trace, tracer);
+    }
+
+    /**
+     * @return an object chain continuing from this one, the value is boxed once here
+     */
+    public <U> EagerResultOrError<U> mapToObj(ExceptionalLongFunction<? extends U> mapper) {
+        if (skips()) {
+            return EagerResultOrError.resume(current(), tracer);
+        }
+        final U mapped;
+        try {
+            mapped = mapper.apply(value);
+        } catch (Exception failure) {
+            return EagerResultOrError.resume(failed(failure, mapper, value).current(), tracer);
+        }
+        final var step = tracer.tracesEveryStep()
+            ? PrimitiveSteps.traced(tracer, trace, mapper, value, mapped)
+            : tracer.step(CallSites.NONE, null, null, mapped, null, null);
+        return EagerResultOrError.resume(step, tracer);
+    }
+
+    public EagerResultOrError<Long> boxed() {
+        return EagerResultOrError.resume(current(), tracer);
+    }
+
+    public long get() {
+        return getResult().getAsLong();
+    }
+
+    public OptionalLong getOption() {
+        return getResult().getOption();
+    }
+
+    public <E extends RuntimeException> long getOrSpecError(Class<E> target, Function<Exception, E> exceptionMapper) {
+        return getResult().getOrSpecError(target, exceptionMapper);
+    }
+
+    public LongResult getResult() {
+        return new LongResult(value, present, exception, PrimitiveSteps.result(tracer, trace, exception));
+    }
+}
@@ -0,0 +1,123 @@
+package org.xyp.functional.result.wrapper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * holds a value computed at most once, without locks<br/>
+ * the first caller claims the cell with a CAS and runs the supplier, callers arriving meanwhile spin briefly, then push
+ * themselves on the stack of waiters held by the claim and park until it publishes, as {@link java.util.concurrent.FutureTask}
+ * does. if the supplier throws, the cell is released, its waiters are woken and the next caller computes again
+ *
+ * @param <T> non-null value type
+ */
+final class OnceCell<T> {
+
+    private static final Object EMPTY = new Object();
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(OnceCell.class, "state", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private record Evaluating(Thread owner, Waiter waiters) {
+    }
+
+    private static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        private final Waiter next;
+        private volatile boolean released;
+
+        Waiter(Waiter next) {
+            this.next = next;
+        }
+    }
+
+    private static final int SPINS = 64;
+
+    // EMPTY, Evaluating, or the value
+    private volatile Object state = EMPTY;
+
+    @SuppressWarnings("unchecked")
+    T get(Supplier<? extends T> supplier) {
+        final var current = state;
+        if (current != EMPTY && !(current instanceof Evaluating)) {
+            return (T) current;
+        }
+        return await(supplier);
+    }
+
+    boolean isDone() {
+        final var current = state;
+        return current != EMPTY && !(current instanceof Evaluating);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T await(Supplier<? extends T> supplier) {
+        int spins = 0;
+        var interrupted = false;
+        try {
+            while (true) {
+                final var current = state;
+                if (current == EMPTY) {
+                    final var claim = new Evaluating(Thread.currentThread(), null);
+                    if (STATE.compareAndSet(this, EMPTY, claim)) {
+                        return evaluate(supplier);
+                    }
+                } else if (current instanceof Evaluating evaluating) {
+                    if (evaluating.owner() == Thread.currentThread()) {
+                        throw new IllegalStateException("memoized value is evaluated recursively");
+                    }
+                    if (spins < SPINS) {
+                        spins++;
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    final var waiter = new Waiter(evaluating.waiters());
+                    if (STATE.compareAndSet(this, evaluating, new Evaluating(evaluating.owner(), waiter))) {
+                        while (!waiter.released) {
+                            LockSupport.park(this);
+                            interrupted |= Thread.interrupted();
+                        }
+                    }
+                } else {
+                    return (T) current;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private T evaluate(Supplier<? extends T> supplier) {
+        final T value;
+        try {
+            value = Objects.requireNonNull(supplier.get(), "memoized value");
+        } catch (Throwable t) {
+            release(EMPTY);
+            throw t;
+        }
+        release(value);
+        return value;
+    }
+
+    /**
+     * publishes the next state and wakes the callers that waited for the evaluation
+     */
+    private void release(Object next) {
+        final var evaluating = (Evaluating) STATE.getAndSet(this, next);
+        for (var waiter = evaluating.waiters(); null != waiter; waiter = waiter.next) {
+            waiter.released = true;
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * a step taken from the pool of a {@link TraceArena}, its fields are set again each time it is handed out<br/>
+ * it is only read while the scope that handed it out is open, see {@link ScopedTrace}
+ */
+final class PooledStep<T> extends StackStepInfo<T> {
+
+    private int callSite;
+    private StackStepInfo<?> previous;
+    private Object input;
+    private Object output;
+    private Exception exception;
+    private StackStepInfo<T> child;
+
+    PooledStep() {
+        super(CallSites.NONE, null, null, null, null);
+    }
+
+    PooledStep<T> set(int callSite, StackStepInfo<?> previous, Object input, Object output, Exception exception, StackStepInfo<T> child) {
+        this.callSite = callSite;
+        this.previous = previous;
+        this.input = input;
+        this.output = output;
+        this.exception = exception;
+        this.child = child;
+        return this;
+    }
+
+    void clear() {
+        set(CallSites.NONE, null, null, null, null, null);
+    }
+
+    @Override
+    int callSite() {
+        return callSite;
+    }
+
+    @Override
+    public StackStepInfo<?> previous() {
+        return previous;
+    }
+
+    @Override
+    Object rawInput() {
+        return input;
+    }
+
+    @Override
+    Object rawOutput() {
+        return output;
+    }
+
+    @Override
+    public Exception exception() {
+        return exception;
+    }
+
+    @Override
+    public StackStepInfo<T> child() {
+        return child;
+    }
+
+    /**
+     * a pooled step is not shared yet, its output is replaced in place
+     */
+    @Override
+    StackStepInfo<T> retainOutput(Retention retention) {
+        output = retention.retain(output);
+        return this;
+    }
+
+    @Override
+    StackStepInfo<T> relink(StackStepInfo<?> previous) {
+        return copy(previous, child);
+    }
+}
@@ -0,0 +1,59 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * the tracing shared by {@link IntResultOrError}, {@link LongResultOrError} and {@link DoubleResultOrError}<br/>
+ * a successful step is only traced when every step is, the chains check it before boxing a value for
+ * {@link #traced}. a failing step is always traced
+ */
+final class PrimitiveSteps {
+    private PrimitiveSteps() {
+    }
+
+    /**
+     * @return the first step of a new chain whose supplier failed, with the call site captured now if it was not yet
+     */
+    static StackStepInfo<?> failedSource(Tracer tracer, int callSite, Object supplier, Exception exception) {
+        final var failingCallSite = CallSites.NONE == callSite ? ResultOrError.captureCallSite(tracer, supplier) : callSite;
+        return tracer.step(failingCallSite, null, null, null, exception, null);
+    }
+
+    /**
+     * @return the step a chain continuing from an object chain follows, null when there is none to trace
+     */
+    static StackStepInfo<?> continued(Tracer tracer, StackStepInfo<?> previous) {
+        return tracer.tracesEveryStep() || previous.isError() ? previous : null;
+    }
+
+    /**
+     * @return the step of a successful function, only made when every step is traced, so the values are only boxed then
+     */
+    static <U> StackStepInfo<U> traced(Tracer tracer, StackStepInfo<?> trace, Object function, Object input, U output) {
+        return tracer.step(ResultOrError.captureCallSite(tracer, function), trace, input, output, null, null);
+    }
+
+    static StackStepInfo<?> failed(Tracer tracer, StackStepInfo<?> trace, Object function, Object input, Exception failure) {
+        return tracer.step(ResultOrError.captureCallSite(tracer, function), trace, input, null, failure, null);
+    }
+
+    /**
+     * @return the step standing for a chain, the given value being its output when no step was traced for it
+     */
+    @SuppressWarnings("unchecked")
+    static <U> StackStepInfo<U> current(Tracer tracer, StackStepInfo<?> trace, Exception exception, Object value) {
+        if (null != trace && (null != exception || tracer.tracesEveryStep())) {
+            return (StackStepInfo<U>) trace;
+        }
+        return (StackStepInfo<U>) tracer.step(CallSites.NONE, null, null, value, null, null);
+    }
+
+    /**
+     * @return the trace the result of a chain exposes, its call site is only captured when the step is traced
+     */
+    static StackStepInfo<?> result(Tracer tracer, StackStepInfo<?> trace, Exception exception) {
+        var last = trace;
+        if (null != trace && (null != exception || tracer.tracesEveryStep())) {
+            last = tracer.step(ResultOrError.captureCallSite(tracer), trace, trace.rawInput(), trace.output(), exception, null);
+        }
+        return tracer.trace(last, null != exception);
+    }
+}
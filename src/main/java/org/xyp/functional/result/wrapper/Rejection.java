@@ -0,0 +1,136 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * a failure holding a plain error value, an enum, a record or an error code, instead of an exception<br/>
+ * the exception is built from the value by {@code toException} only when it is asked for: by {@link #getError()}, and
+ * the methods handing or throwing it. every call builds a new one<br/>
+ * {@link #getOrSpecErrorBy(Class, Function)}, {@link #getErrorValue(Class)}, {@link #ifErrorValue(Consumer)} and
+ * {@link #getOrFallBackForErrorValue(Function)} never build it
+ *
+ * @param <T> value type of a success
+ * @param <V> error value type
+ * @param <E> exception type the error value stands for
+ */
+public record Rejection<T, V, E extends Exception>(
+    V error,
+    Function<? super V, ? extends E> toException,
+    StackStepInfo<T> stackStepInfo
+) implements Result<T, E> {
+
+    public Rejection {
+        Objects.requireNonNull(error, "error value");
+        Objects.requireNonNull(toException, "toException");
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public T get() {
+        throw FailureRethrow.unchecked(getError(), stackStepInfo);
+    }
+
+    /**
+     * @return a new exception built from the error value
+     */
+    @Override
+    public E getError() {
+        return toException.apply(error);
+    }
+
+    @Override
+    public <R extends RuntimeException> T getOrSpecError(Class<R> rteClass, Function<E, R> exceptionMapper) {
+        final var exception = getError();
+        if (rteClass.isInstance(exception)) {
+            throw rteClass.cast(exception);
+        }
+        throw exceptionMapper.apply(exception);
+    }
+
+    @Override
+    public <R extends RuntimeException> T getOrSpecErrorBy(Class<R> rteClass, Function<Result<T, E>, R> exceptionMapper) {
+        throw exceptionMapper.apply(this);
+    }
+
+    @Override
+    public Optional<T> getOption() {
+        throw FailureRethrow.unchecked(getError(), stackStepInfo);
+    }
+
+    @Override
+    public Optional<T> getOptionEvenErr(Function<E, T> exceptionFallBack) {
+        return Optional.ofNullable(exceptionFallBack.apply(getError()));
+    }
+
+    @Override
+    public <R extends RuntimeException> Optional<T> getOptionOrSpecError(Class<R> rteClass, Function<E, R> exceptionMapper) {
+        return Optional.ofNullable(getOrSpecError(rteClass, exceptionMapper));
+    }
+
+    @Override
+    public <R extends RuntimeException> Optional<T>
+    getOptionOrSpecErrorBy(Class<R> rteClass, Function<Result<T, E>, R> exceptionMapper) {
+        throw exceptionMapper.apply(this);
+    }
+
+    @Override
+    public Result<T, E> ifError(Consumer<E> consumer) {
+        consumer.accept(getError());
+        return this;
+    }
+
+    @Override
+    public T getOrFallBackForError(Function<E, T> exceptionMapper) {
+        return exceptionMapper.apply(getError());
+    }
+
+    @Override
+    public <U> Optional<U> getErrorValue(Class<U> type) {
+        return type.isInstance(error) ? Optional.of(type.cast(error)) : Optional.empty();
+    }
+
+    public Rejection<T, V, E> ifErrorValue(Consumer<? super V> consumer) {
+        consumer.accept(error);
+        return this;
+    }
+
+    public T getOrFallBackForErrorValue(Function<? super V, ? extends T> fallback) {
+        return fallback.apply(error);
+    }
+
+    /**
+     * @return a rejection with another error value, standing for the same exception type
+     */
+    public <W> Rejection<T, W, E> mapErrorValue(Function<? super V, ? extends W> mapper, Function<? super W, ? extends E> toException) {
+        return new Rejection<>(mapper.apply(error), toException, stackStepInfo);
+    }
+
+    /**
+     * @return this rejection as the failure of a result of another value type
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Rejection<U, V, E> cast() {
+        return (Rejection<U, V, E>) this;
+    }
+
+    @Override
+    public Optional<StackStepInfo<T>> getStackStepInfo() {
+        return Optional.ofNullable(stackStepInfo);
+    }
+
+    /**
+     * the exception mapper is only applied once the exception is built
+     */
+    @Override
+    public <W extends RuntimeException>
+    Result<T, W> mapError(Class<W> target, Function<E, W> exceptionMapper) {
+        return new Rejection<>(error, toException.andThen(exceptionMapper), stackStepInfo);
+    }
+}
@@ -0,0 +1,73 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * consecutive steps of the same call site folded into one node, see {@link TraceConfig#setFoldRepeats(boolean)}<br/>
+ * {@link #input()} is the input of the first step, {@link #output()} and {@link #exception()} are those of the last one
+ */
+final class RepeatedSteps<T> extends StackStepInfo<T> {
+
+    private final long count;
+    private final Object firstOutput;
+    private final Object lastInput;
+
+    RepeatedSteps(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object firstInput,
+        Object firstOutput,
+        Object lastInput,
+        Object output,
+        Exception exception,
+        long count
+    ) {
+        super(callSite, previous, firstInput, output, exception, null);
+        this.count = count;
+        this.firstOutput = firstOutput;
+        this.lastInput = lastInput;
+    }
+
+    @Override
+    public long repeatCount() {
+        return count;
+    }
+
+    @Override
+    public Object firstOutput() {
+        return Retention.value(firstOutput);
+    }
+
+    @Override
+    public Object lastInput() {
+        return Retention.value(lastInput);
+    }
+
+    @Override
+    Object rawFirstOutput() {
+        return firstOutput;
+    }
+
+    @Override
+    String renderFirstOutput() {
+        return Retention.render(firstOutput);
+    }
+
+    @Override
+    String renderLastInput() {
+        return Retention.render(lastInput);
+    }
+
+    @Override
+    StackStepInfo<T> retainOutput(Retention retention) {
+        return new RepeatedSteps<>(callSite(), previous(), rawInput(), firstOutput, lastInput, retention.retain(rawOutput()), exception(), count);
+    }
+
+    @Override
+    StackStepInfo<T> relink(StackStepInfo<?> previous) {
+        return new RepeatedSteps<>(callSite(), previous, rawInput(), firstOutput, lastInput, rawOutput(), exception(), count);
+    }
+
+    @Override
+    StackStepInfo<T> copy(StackStepInfo<?> previous, StackStepInfo<T> child) {
+        return relink(previous);
+    }
+}
@@ -6,7 +6,15 @@ import org.slf4j.LoggerFactory;
 import java.util.Optional;
 import java.util.function.*;
 
-public interface Result<T, E extends Exception> {
+/**
+ * the outcome of a chain: a {@link Success}, a {@link Failure} holding an exception, or a {@link Rejection} holding an
+ * error value<br/>
+ * the hierarchy is sealed, so a call site only ever sees these three classes, see {@link #fold(Function, Function)}
+ *
+ * @param <T> value type
+ * @param <E> error type
+ */
+public sealed interface Result<T, E extends Exception> permits Success, Failure, Rejection {
 
     Logger log = LoggerFactory.getLogger(Result.class);
 
@@ -20,10 +28,33 @@ public interface Result<T, E extends Exception> {
         return new Failure<>(exception, stackStepInfo);
     }
 
+    /**
+     * @param error       the error value, see {@link Rejection}
+     * @param toException builds the exception of the error value, when it is asked for
+     */
+    static <T, V, E extends Exception> Result<T, E> rejection(V error, Function<? super V, ? extends E> toException) {
+        return new Rejection<>(error, toException, null);
+    }
+
+    static <T, V, E extends Exception> Result<T, E> rejection(
+        V error,
+        Function<? super V, ? extends E> toException,
+        StackStepInfo<T> stackStepInfo
+    ) {
+        return new Rejection<>(error, toException, stackStepInfo);
+    }
+
     T get();
 
     E getError();
 
+    /**
+     * @return the error value of a {@link Rejection} when it is of the type, else empty
+     */
+    default <U> Optional<U> getErrorValue(Class<U> type) {
+        return Optional.empty();
+    }
+
     <R extends RuntimeException>
     T getOrSpecError(Class<R> rteClass, Function<E, R> exceptionMapper);
 
@@ -53,12 +84,49 @@ public interface Result<T, E extends Exception> {
     }
 
     default Result<T, E> doIfError(Consumer<Result<T, E>> consumer) {
-        return doIf(Failure.class::isInstance, consumer);
+        if (!(this instanceof Success)) {
+            consumer.accept(this);
+        }
+        return this;
+    }
+
+    /**
+     * @param onSuccess maps the value of a success
+     * @param onFailure maps the error of a failure, the exception of a {@link Rejection} is built for it
+     * @return the outcome mapped by the function of its kind
+     */
+    default <U> U fold(Function<? super T, ? extends U> onSuccess, Function<? super E, ? extends U> onFailure) {
+        if (this instanceof Success<T, E> success) {
+            return onSuccess.apply(success.value());
+        } else if (this instanceof Failure<T, E> failure) {
+            return onFailure.apply(failure.exception());
+        }
+        return onFailure.apply(getError());
     }
 
     <W extends RuntimeException>
     Result<T, W> mapError(Class<W> target, Function<E, W> exceptionMapper);
 
+    /**
+     * @return this result with its error translated as registered in {@link ErrorMappings}, a runtime exception not
+     * registered is kept, another one is wrapped in a {@link org.xyp.functional.result.FunctionException}
+     */
+    default Result<T, RuntimeException> mapError() {
+        return mapError(RuntimeException.class, ErrorMappings::unchecked);
+    }
+
+    /**
+     * @param valueType the value type the recovery is registered for, see {@link ErrorMappings#recover}
+     * @return the value, or the recovery of the error when one is registered, else throws as {@link #get()}
+     */
+    default T getOrRecover(Class<T> valueType) {
+        if (this instanceof Success<T, E> success) {
+            return success.value();
+        }
+        final var trace = this instanceof Failure<T, E> failure ? failure.trace() : getStackStepInfo().orElse(null);
+        return ErrorMappings.recover(getError(), valueType, trace);
+    }
+
 
     default Result<T, E> traceDebugOrError(
         BooleanSupplier needDebug, Consumer<String> debugLogger,
@@ -3,7 +3,17 @@ package org.xyp.functional.result.wrapper;
 
 import org.xyp.functional.result.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -17,67 +27,405 @@ import java.util.function.Supplier;
  */
 public class ResultOrError<R> {
 
-    private final Supplier<StackStepInfo<R>> supplier;
+    private final Stage stage;
+    private final Tracer tracer;
 
-    Supplier<StackStepInfo<R>> supplier() {
-        return supplier;
+    Stage stage() {
+        return stage;
     }
 
-    ResultOrError(Supplier<StackStepInfo<R>> supplier) {
-        this.supplier = supplier;
+    Tracer tracer() {
+        return tracer;
     }
 
+    ResultOrError(Stage stage, Tracer tracer) {
+        this.stage = stage;
+        this.tracer = tracer;
+    }
+
+    private <U> ResultOrError<U> next(Stage.Kind kind, Object function) {
+        return new ResultOrError<>(stage.then(kind, function, captureCallSite(function)), tracer);
+    }
+
+    int captureCallSite() {
+        return captureCallSite(tracer);
+    }
+
+    int captureCallSite(Object function) {
+        return captureCallSite(tracer, function);
+    }
+
+    static int captureCallSite(Tracer tracer) {
+        return tracer.isOff() ? CallSites.NONE : CallSites.intern(getStackStep());
+    }
+
+    static int captureCallSite(Tracer tracer, Object function) {
+        if (tracer.isOff()) {
+            return CallSites.NONE;
+        } else if (TraceConfig.getCallSiteCapture() == CallSiteCapture.PER_FUNCTION) {
+            return CallSites.intern(function, ResultOrError::getStackStep);
+        }
+        return CallSites.intern(getStackStep());
+    }
+
+    /**
+     * the call site of a strict chain is only needed when its steps are all traced, or to decide {@link TraceMode#ADAPTIVE}
+     */
+    static int sourceCallSite(Tracer tracer, Object function) {
+        if (!tracer.tracesEveryStep() && tracer.mode() != TraceMode.ADAPTIVE) {
+            return CallSites.NONE;
+        }
+        return null == function ? captureCallSite(tracer) : captureCallSite(tracer, function);
+    }
+
+    private static final Set<String> LIBRARY_CLASSES = Set.of(
+        ResultOrError.class.getName(),
+        WithCloseable.class.getName(),
+        EagerResultOrError.class.getName(),
+        AsyncResultOrError.class.getName(),
+        ResultPipeline.class.getName(),
+        IntResultOrError.class.getName(),
+        LongResultOrError.class.getName(),
+        DoubleResultOrError.class.getName(),
+        PrimitiveSteps.class.getName(),
+        CallSites.class.getName()
+    );
+
+    private static final String CORE_PACKAGE = ExceptionalFunction.class.getPackageName() + ".";
+
+    /**
+     * @return whether the class is one of the combinators skipped as call sites, or of the core package holding the
+     * helpers of {@link Fun}, by name so a shaded copy of the library is told apart the same
+     */
+    static boolean isLibraryClass(String className) {
+        return LIBRARY_CLASSES.contains(className)
+            || (className.startsWith(CORE_PACKAGE) && className.indexOf('.', CORE_PACKAGE.length()) < 0);
+    }
+
+    /**
+     * keeps the class of the frames, call sites are looked up by it
+     */
+    static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
     static StackWalker.StackFrame getStackStep() {
-        return StackWalker.getInstance()
-            .walk(stream -> stream.filter(s ->
-                    !s.toStackTraceElement().getClassName().equals(ResultOrError.class.getName())
-                        && !s.toStackTraceElement().getClassName().equals(WithCloseable.class.getName())
-                )
+        return WALKER
+            .walk(stream -> stream.filter(s -> !LIBRARY_CLASSES.contains(s.getClassName()))
                 .findFirst())
             .orElse(null);
     }
 
     public static <T1> ResultOrError<T1> of(T1 t1) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(() -> new StackStepInfo<>(frame, null, null, t1, null));
+        return of(TraceConfig.getDefaultMode(), t1);
+    }
+
+    public static <T1> ResultOrError<T1> of(TraceMode traceMode, T1 t1) {
+        final var tracer = TraceConfig.tracer(traceMode);
+        final var callSite = captureCallSite(tracer);
+        return new ResultOrError<>(Stage.source(Stage.Kind.OF, t1, callSite), tracer.at(callSite));
     }
 
     public static <R> ResultOrError<R> on(ExceptionalSupplier<R> supplier) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(() -> {
-            try {
-                final var result = supplier.get();
-                return new StackStepInfo<>(frame, null, null, result, null);
-            } catch (Exception exception) {
-                return new StackStepInfo<>(frame, null, null, null, exception);
-            }
-        });
+        return on(TraceConfig.getDefaultMode(), supplier);
+    }
+
+    public static <R> ResultOrError<R> on(TraceMode traceMode, ExceptionalSupplier<R> supplier) {
+        final var tracer = TraceConfig.tracer(traceMode);
+        final var callSite = captureCallSite(tracer, supplier);
+        return new ResultOrError<>(Stage.source(Stage.Kind.ON, supplier, callSite), tracer.at(callSite));
     }
 
     public static ResultOrError<Void> doRun(ExceptionalRunnable runner) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(() -> {
-            try {
-                runner.run();
-                return new StackStepInfo<>(frame, null, null, null, null);
-            } catch (Exception exception) {
-                return new StackStepInfo<>(frame, null, null, null, exception);
-            }
+        return doRun(TraceConfig.getDefaultMode(), runner);
+    }
+
+    public static ResultOrError<Void> doRun(TraceMode traceMode, ExceptionalRunnable runner) {
+        final var tracer = TraceConfig.tracer(traceMode);
+        final var callSite = captureCallSite(tracer, runner);
+        return new ResultOrError<>(Stage.source(Stage.Kind.RUN, runner, callSite), tracer.at(callSite));
+    }
+
+    /**
+     * runs both chains on the common pool, see {@link #zipAll(List, Executor)}
+     */
+    public static <A, B, R> ResultOrError<R> zip(
+        ResultOrError<A> a,
+        ResultOrError<B> b,
+        ExceptionalBiFunction<? super A, ? super B, ? extends R> combiner
+    ) {
+        return zip(a, b, combiner, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> ResultOrError<R> zip(
+        ResultOrError<A> a,
+        ResultOrError<B> b,
+        ExceptionalBiFunction<? super A, ? super B, ? extends R> combiner,
+        Executor executor
+    ) {
+        Objects.requireNonNull(combiner, "combiner");
+        return zip(List.of(a, b), values -> combiner.apply((A) values[0], (B) values[1]), executor);
+    }
+
+    /**
+     * runs the chains on the common pool, see {@link #zipAll(List, Executor)}
+     */
+    public static <A, B, C, R> ResultOrError<R> zip3(
+        ResultOrError<A> a,
+        ResultOrError<B> b,
+        ResultOrError<C> c,
+        ExceptionalTriFunction<? super A, ? super B, ? super C, ? extends R> combiner
+    ) {
+        return zip3(a, b, c, combiner, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, B, C, R> ResultOrError<R> zip3(
+        ResultOrError<A> a,
+        ResultOrError<B> b,
+        ResultOrError<C> c,
+        ExceptionalTriFunction<? super A, ? super B, ? super C, ? extends R> combiner,
+        Executor executor
+    ) {
+        Objects.requireNonNull(combiner, "combiner");
+        return zip(List.of(a, b, c), values -> combiner.apply((A) values[0], (B) values[1], (C) values[2]), executor);
+    }
+
+    /**
+     * runs the chains on the common pool, see {@link #zipAll(List, Executor)}
+     */
+    public static <T> ResultOrError<List<T>> zipAll(List<ResultOrError<T>> chains) {
+        return zipAll(chains, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * a chain starting with the values of independent chains, evaluated concurrently on the executor once this one is
+     * evaluated<br/>
+     * the first failure cancels the chains still running, interrupting them, and fails this chain with the trace of the
+     * failing chain as child. on success every chain gets a step holding its trace as child, as with flatMap<br/>
+     * an empty chain leaves this one empty. chains doing blocking I/O should not run on the common pool
+     *
+     * @return the values of the chains, in their order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResultOrError<List<T>> zipAll(List<ResultOrError<T>> chains, Executor executor) {
+        return zip(chains, values -> (List<T>) List.of(values), executor);
+    }
+
+    private static <R> ResultOrError<R> zip(
+        List<? extends ResultOrError<?>> chains,
+        ExceptionalFunction<Object[], ? extends R> combiner,
+        Executor executor
+    ) {
+        final var branches = List.copyOf(chains);
+        Objects.requireNonNull(executor, "executor");
+        final var base = TraceConfig.tracer(TraceConfig.getDefaultMode());
+        final var callSite = captureCallSite(base);
+        final Stage.Step<StackStepInfo<?>, StackStepInfo<R>> zip = (previous, tracer) ->
+            Zip.run(branches, combiner, executor, callSite, tracer);
+        return new ResultOrError<>(Stage.source(Stage.Kind.STEP, zip, callSite), base.at(callSite));
+    }
+
+    /**
+     * maps the items on the common pool, as many at a time as it has threads, see
+     * {@link #traverse(List, ExceptionalFunction, int, Executor)}
+     */
+    public static <T, R> ResultOrError<List<R>> traverse(List<? extends T> items, ExceptionalFunction<? super T, ? extends R> mapper) {
+        return traverse(items, mapper, ForkJoinPool.getCommonPoolParallelism(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * a chain starting with the items mapped concurrently on the executor once this one is evaluated, at most
+     * {@code parallelism} of them at a time. every item is a step of its own, so the items of a slow one are taken over
+     * by the others<br/>
+     * fails fast: the first failure stops taking more items, interrupts the ones in progress and fails this chain with
+     * the trace of the failing item as child, see {@link #traverseEach(List, ExceptionalFunction, int, Executor)} to
+     * map all of them. mappers doing blocking I/O should not run on the common pool
+     *
+     * @return the mapped items, in their order
+     */
+    public static <T, R> ResultOrError<List<R>> traverse(
+        List<? extends T> items,
+        ExceptionalFunction<? super T, ? extends R> mapper,
+        int parallelism,
+        Executor executor
+    ) {
+        return ResultOrError.<T, R, List<R>>traverse(new ArrayList<T>(items), mapper, parallelism, executor, true, ResultOrError::values);
+    }
+
+    /**
+     * maps the items on the common pool, see {@link #traverseEach(List, ExceptionalFunction, int, Executor)}
+     */
+    public static <T, R> ResultOrError<List<Result<R, Exception>>> traverseEach(List<? extends T> items, ExceptionalFunction<? super T, ? extends R> mapper) {
+        return traverseEach(items, mapper, ForkJoinPool.getCommonPoolParallelism(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * as {@link #traverse(List, ExceptionalFunction, int, Executor)}, but maps all the items whatever fails
+     *
+     * @return the result of every item with its own trace, in their order
+     */
+    public static <T, R> ResultOrError<List<Result<R, Exception>>> traverseEach(
+        List<? extends T> items,
+        ExceptionalFunction<? super T, ? extends R> mapper,
+        int parallelism,
+        Executor executor
+    ) {
+        return ResultOrError.<T, R, List<Result<R, Exception>>>traverse(new ArrayList<T>(items), mapper, parallelism, executor, false, List::of);
+    }
+
+    /**
+     * maps the values on the common pool, see {@link #traverse(List, ExceptionalFunction, int, Executor)}
+     */
+    public static <K, V, R> ResultOrError<Map<K, R>> traverseMap(Map<K, ? extends V> items, ExceptionalFunction<? super V, ? extends R> mapper) {
+        return traverseMap(items, mapper, ForkJoinPool.getCommonPoolParallelism(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * as {@link #traverse(List, ExceptionalFunction, int, Executor)} over the values of the map
+     *
+     * @return the mapped values by their keys, in the iteration order of the map
+     */
+    public static <K, V, R> ResultOrError<Map<K, R>> traverseMap(
+        Map<K, ? extends V> items,
+        ExceptionalFunction<? super V, ? extends R> mapper,
+        int parallelism,
+        Executor executor
+    ) {
+        final var keys = new ArrayList<K>(items.keySet());
+        final var values = new ArrayList<V>(items.values());
+        return ResultOrError.<V, R, Map<K, R>>traverse(values, mapper, parallelism, executor, true, results -> byKeys(keys, values(results)));
+    }
+
+    /**
+     * maps the values on the common pool, see {@link #traverseEach(List, ExceptionalFunction, int, Executor)}
+     */
+    public static <K, V, R> ResultOrError<Map<K, Result<R, Exception>>> traverseMapEach(Map<K, ? extends V> items, ExceptionalFunction<? super V, ? extends R> mapper) {
+        return traverseMapEach(items, mapper, ForkJoinPool.getCommonPoolParallelism(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * as {@link #traverseEach(List, ExceptionalFunction, int, Executor)} over the values of the map
+     *
+     * @return the result of every value by its key, in the iteration order of the map
+     */
+    public static <K, V, R> ResultOrError<Map<K, Result<R, Exception>>> traverseMapEach(
+        Map<K, ? extends V> items,
+        ExceptionalFunction<? super V, ? extends R> mapper,
+        int parallelism,
+        Executor executor
+    ) {
+        final var keys = new ArrayList<K>(items.keySet());
+        final var values = new ArrayList<V>(items.values());
+        return ResultOrError.<V, R, Map<K, Result<R, Exception>>>traverse(values, mapper, parallelism, executor, false, results -> byKeys(keys, Arrays.asList(results)));
+    }
+
+    /**
+     * runs on the common pool, see
+     * {@link #forkJoin(Object, ExceptionalFunction, ExceptionalFunction, ExceptionalBiFunction, Predicate, ForkJoinPool)}
+     */
+    public static <T, R> ResultOrError<R> forkJoin(
+        T input,
+        ExceptionalFunction<? super T, ? extends List<? extends T>> splitter,
+        ExceptionalFunction<? super T, ? extends R> leafFn,
+        ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner,
+        Predicate<? super T> threshold
+    ) {
+        return forkJoin(input, splitter, leafFn, combiner, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * a chain starting with the input divided and conquered on the pool once this one is evaluated: an input passing the
+     * threshold, or split into less than two parts, is a leaf given to leafFn, otherwise its parts are computed as
+     * subtasks and their results combined from left to right<br/>
+     * the first failure of a splitter, leafFn or combiner cancels the subtasks not started, the ones running stop before
+     * their next split or leaf, and fails this chain with the step failed, holding its input, as child
+     *
+     * @param threshold whether an input is small enough to be a leaf
+     */
+    public static <T, R> ResultOrError<R> forkJoin(
+        T input,
+        ExceptionalFunction<? super T, ? extends List<? extends T>> splitter,
+        ExceptionalFunction<? super T, ? extends R> leafFn,
+        ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner,
+        Predicate<? super T> threshold,
+        ForkJoinPool pool
+    ) {
+        Objects.requireNonNull(splitter, "splitter");
+        Objects.requireNonNull(leafFn, "leafFn");
+        Objects.requireNonNull(combiner, "combiner");
+        Objects.requireNonNull(threshold, "threshold");
+        Objects.requireNonNull(pool, "pool");
+        final var base = TraceConfig.tracer(TraceConfig.getDefaultMode());
+        final var callSite = captureCallSite(base, leafFn);
+        final Stage.Step<StackStepInfo<?>, StackStepInfo<R>> forkJoin = (previous, tracer) ->
+            ForkJoin.run(input, splitter, leafFn, combiner, threshold, pool, callSite, tracer);
+        return new ResultOrError<>(Stage.source(Stage.Kind.STEP, forkJoin, callSite), base.at(callSite));
+    }
+
+    /**
+     * splits the list in halves down to at most threshold items, see
+     * {@link #forkJoin(Object, ExceptionalFunction, ExceptionalFunction, ExceptionalBiFunction, Predicate, ForkJoinPool)}
+     */
+    public static <T, R> ResultOrError<R> forkJoin(
+        List<T> input,
+        ExceptionalFunction<? super List<T>, ? extends R> leafFn,
+        ExceptionalBiFunction<? super R, ? super R, ? extends R> combiner,
+        int threshold
+    ) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
         }
+        return ResultOrError.<List<T>, R>forkJoin(
+            input,
+            list -> List.of(list.subList(0, list.size() / 2), list.subList(list.size() / 2, list.size())),
+            leafFn,
+            combiner,
+            list -> list.size() <= threshold,
+            ForkJoinPool.commonPool()
         );
     }
 
+    private static <T, R, X> ResultOrError<X> traverse(
+        List<? extends T> items,
+        ExceptionalFunction<? super T, ? extends R> mapper,
+        int parallelism,
+        Executor executor,
+        boolean failFast,
+        Function<Result<R, Exception>[], X> collect
+    ) {
+        Objects.requireNonNull(mapper, "mapper");
+        Objects.requireNonNull(executor, "executor");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        final var base = TraceConfig.tracer(TraceConfig.getDefaultMode());
+        final var callSite = captureCallSite(base, mapper);
+        final Stage.Step<StackStepInfo<?>, StackStepInfo<X>> traverse = (previous, tracer) ->
+            Traverse.run(items, mapper, parallelism, executor, failFast, collect, callSite, tracer);
+        return new ResultOrError<>(Stage.source(Stage.Kind.STEP, traverse, callSite), base.at(callSite));
+    }
+
+    private static <R> List<R> values(Result<R, Exception>[] results) {
+        final var values = new ArrayList<R>(results.length);
+        for (var result : results) {
+            values.add(result.get());
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private static <K, R> Map<K, R> byKeys(List<K> keys, List<R> values) {
+        final var map = new LinkedHashMap<K, R>(keys.size() * 4 / 3 + 1);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), values.get(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
     public ResultOrError<R> filter(Predicate<? super R> predicate) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var prevStack = supplier.get();
-                return getStackStepInfoByFilter(predicate, prevStack, frame);
-            }
-        );
+        return next(Stage.Kind.FILTER, predicate);
     }
 
-    static <R> StackStepInfo<R> getStackStepInfoByFilter(Predicate<? super R> predicate, StackStepInfo<R> prevStack, StackWalker.StackFrame frame) {
+    static <R> StackStepInfo<R> getStackStepInfoByFilter(Predicate<? super R> predicate, StackStepInfo<R> prevStack, int callSite, Tracer tracer) {
         if (prevStack.isError()) {
             return prevStack;
         }
@@ -86,67 +434,56 @@ public class ResultOrError<R> {
             if (null != lastOutput && predicate.test(lastOutput)) {
                 return prevStack;
             } else {
-                return new StackStepInfo<>(frame, prevStack, null, null, null);
+                return tracer.step(callSite, prevStack, null, null, null, null);
             }
         } catch (Exception exception) {
-            return new StackStepInfo<>(frame, prevStack, lastOutput, null, exception);
+            return tracer.step(callSite, prevStack, lastOutput, null, exception, null);
         }
     }
 
     public ResultOrError<R> fallbackForEmpty(Supplier<R> emptySupplier) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var prevStack = supplier.get();
-                final var lastOutput = prevStack.output();
-                if (prevStack.isError()) {
-                    return prevStack;
-                }
-                try {
-                    if (null == lastOutput) {
-                        var currentRes = emptySupplier.get();
-                        return new StackStepInfo<>(frame, prevStack, null, currentRes, null);
-                    } else {
-                        return new StackStepInfo<>(frame, prevStack, lastOutput, lastOutput, null);
-                    }
-                } catch (Exception exception) {
-                    return new StackStepInfo<>(frame, prevStack, lastOutput, null, exception);
-                }
+        return next(Stage.Kind.FALLBACK_EMPTY, emptySupplier);
+    }
+
+    static <R> StackStepInfo<R> getStackStepInfoByFallback(Supplier<R> emptySupplier, StackStepInfo<R> prevStack, int callSite, Tracer tracer) {
+        final var lastOutput = prevStack.output();
+        if (prevStack.isError()) {
+            return prevStack;
+        }
+        try {
+            if (null == lastOutput) {
+                var currentRes = emptySupplier.get();
+                return tracer.step(callSite, prevStack, null, currentRes, null, null);
+            } else {
+                return tracer.step(callSite, prevStack, lastOutput, lastOutput, null, null);
             }
-        );
+        } catch (Exception exception) {
+            return tracer.step(callSite, prevStack, lastOutput, null, exception, null);
+        }
     }
 
     public ResultOrError<R> consume(ExceptionalConsumer<? super R> consumer) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var prevStack = supplier.get();
-                return getStackByConsume(consumer, prevStack, frame);
-            }
-        );
+        return next(Stage.Kind.CONSUME, consumer);
     }
 
     public ResultOrError<R> doOnError(ExceptionalConsumer<? super Exception> consumer) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var prevStack = supplier.get();
-                final var lastOutput = prevStack.output();
-                try {
-                    if (prevStack.isError()) {
-                        consumer.accept(prevStack.exception());
-                        return new StackStepInfo<>(frame, prevStack, lastOutput, null, prevStack.exception());
-                    }
-                    return prevStack;
-                } catch (Exception exception) {
-                    return new StackStepInfo<>(frame, prevStack, lastOutput, null, exception);
-                }
-            }
-        );
+        return next(Stage.Kind.DO_ON_ERROR, consumer);
+    }
 
+    static <R> StackStepInfo<R> getStackStepInfoByDoOnError(ExceptionalConsumer<? super Exception> consumer, StackStepInfo<R> prevStack, int callSite, Tracer tracer) {
+        final var lastOutput = prevStack.output();
+        try {
+            if (prevStack.isError()) {
+                consumer.accept(prevStack.exception());
+                return tracer.step(callSite, prevStack, lastOutput, null, prevStack.exception(), null);
+            }
+            return prevStack;
+        } catch (Exception exception) {
+            return tracer.step(callSite, prevStack, lastOutput, null, exception, null);
+        }
     }
 
-    static <R> StackStepInfo<R> getStackByConsume(ExceptionalConsumer<? super R> consumer, StackStepInfo<R> prevStack, StackWalker.StackFrame frame) {
+    static <R> StackStepInfo<R> getStackByConsume(ExceptionalConsumer<? super R> consumer, StackStepInfo<R> prevStack, int callSite, Tracer tracer) {
 
         final var lastOutput = prevStack.output();
         if (prevStack.isError()) {
@@ -154,9 +491,9 @@ public class ResultOrError<R> {
         } else if (null != lastOutput) {
             try {
                 consumer.accept(lastOutput);
-                return new StackStepInfo<>(frame, prevStack, lastOutput, lastOutput, null);
+                return tracer.step(callSite, prevStack, lastOutput, lastOutput, null, null);
             } catch (Exception exception) {
-                return new StackStepInfo<>(frame, prevStack, lastOutput, null, exception);
+                return tracer.step(callSite, prevStack, lastOutput, null, exception, null);
             }
         } else {
             return prevStack;
@@ -164,39 +501,32 @@ public class ResultOrError<R> {
     }
 
     public <U> ResultOrError<U> map(ExceptionalFunction<? super R, ? extends U> mapper) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var previousStackInfo = supplier.get();
-                return getStackStepInfoByMapper(mapper, previousStackInfo, frame);
-            }
-        );
+        return next(Stage.Kind.MAP, mapper);
     }
 
     public ResultOrError<R> mapOnError(ExceptionalFunction<Exception, ? extends R> mapper) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var prevStack = supplier.get();
-                try {
-                    if (prevStack.isError()) {
-                        final var newOutputForError = mapper.apply(prevStack.exception());
-                        return new StackStepInfo<>(frame, prevStack, prevStack.exception(), newOutputForError, null);
-                    }
-                    return prevStack;
-                } catch (Exception exception) {
-                    final var lastOutput = prevStack.output();
-                    return new StackStepInfo<>(frame, prevStack, lastOutput, null, exception);
-                }
+        return next(Stage.Kind.MAP_ON_ERROR, mapper);
+    }
+
+    static <R> StackStepInfo<R> getStackStepInfoByMapOnError(ExceptionalFunction<Exception, ? extends R> mapper, StackStepInfo<R> prevStack, int callSite, Tracer tracer) {
+        try {
+            if (prevStack.isError()) {
+                final var newOutputForError = mapper.apply(prevStack.exception());
+                return tracer.step(callSite, prevStack, prevStack.exception(), newOutputForError, null, null);
             }
-        );
+            return prevStack;
+        } catch (Exception exception) {
+            final var lastOutput = prevStack.output();
+            return tracer.step(callSite, prevStack, lastOutput, null, exception, null);
+        }
     }
 
     @SuppressWarnings("unchecked")
     static <R, U> StackStepInfo<U> getStackStepInfoByMapper(
         ExceptionalFunction<? super R, ? extends U> mapper,
         StackStepInfo<R> previousStackInfo,
-        StackWalker.StackFrame frame
+        int callSite,
+        Tracer tracer
     ) {
         final var lastOutput = previousStackInfo.output();
         if (previousStackInfo.isError()) {
@@ -204,9 +534,9 @@ public class ResultOrError<R> {
         } else if (null != lastOutput) {
             try {
                 final var mappedVal = mapper.apply(lastOutput);
-                return new StackStepInfo<>(frame, previousStackInfo, lastOutput, mappedVal, null);
+                return tracer.step(callSite, previousStackInfo, lastOutput, mappedVal, null, null);
             } catch (Exception t) {
-                return new StackStepInfo<>(frame, previousStackInfo, lastOutput, null, t);
+                return tracer.step(callSite, previousStackInfo, lastOutput, null, t, null);
             }
         } else {
             return (StackStepInfo<U>) previousStackInfo;
@@ -217,50 +547,106 @@ public class ResultOrError<R> {
         return map(mapper::apply);
     }
 
-    @SuppressWarnings("unchecked")
     public <U> ResultOrError<U> flatMap(Function<? super R, ResultOrError<U>> mapper) {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var previousStackInfo = supplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return (StackStepInfo<U>) previousStackInfo;
-                } else if (null != lastOutput) {
-                    final var mapperROE = mapper.apply(lastOutput);
-                    final var mappedResult = mapperROE.getResultInPackage(mapperROE.supplier);
-                    final var childStack = mappedResult.getStackStepInfo();
-                    if (mappedResult.isSuccess()) {
-                        final var mappedVal = mappedResult.get();
-                        return new StackStepInfo<>(frame, previousStackInfo, lastOutput, mappedVal, null, childStack.orElse(null));
-                    } else {
-                        return new StackStepInfo<>(frame, previousStackInfo, lastOutput, null, mappedResult.getError(), childStack.orElse(null));
-                    }
-                } else {
-                    return (StackStepInfo<U>) previousStackInfo;
-                }
-            }
-        );
+        return next(Stage.Kind.FLAT_MAP, mapper);
+    }
+
+    /**
+     * @return the chain to continue with, or null when the previous step passes through
+     */
+    static <R, U> ResultOrError<U> flatMapChild(Function<? super R, ResultOrError<U>> mapper, StackStepInfo<R> previousStackInfo) {
+        final var lastOutput = previousStackInfo.output();
+        if (previousStackInfo.isError() || null == lastOutput) {
+            return null;
+        }
+        return mapper.apply(lastOutput);
+    }
+
+    static <R, U> StackStepInfo<U> getStackStepInfoByJoin(
+        StackStepInfo<R> previousStackInfo,
+        Result<U, Exception> mappedResult,
+        int callSite,
+        Tracer tracer
+    ) {
+        final var lastOutput = previousStackInfo.output();
+        final var childStack = ScopedTrace.childOf(mappedResult);
+        if (mappedResult instanceof Success<U, Exception> success) {
+            return tracer.step(callSite, previousStackInfo, lastOutput, success.value(), null, childStack);
+        } else {
+            return tracer.step(callSite, previousStackInfo, lastOutput, null, mappedResult.getError(), childStack);
+        }
     }
 
-    @SuppressWarnings("unchecked")
     public ResultOrError<Optional<R>> continueWithOptional() {
-        final var frame = getStackStep();
-        return new ResultOrError<>(
-            () -> {
-                final var previousStackInfo = supplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return (StackStepInfo<Optional<R>>) previousStackInfo;
-                } else {
-                    return new StackStepInfo<>(frame, previousStackInfo, lastOutput, Optional.ofNullable(lastOutput), null, null);
-                }
-            }
-        );
+        return new ResultOrError<>(stage.then(Stage.Kind.OPTIONAL, null, captureCallSite()), tracer);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> StackStepInfo<Optional<R>> getStackStepInfoByOptional(StackStepInfo<R> previousStackInfo, int callSite, Tracer tracer) {
+        final var lastOutput = previousStackInfo.output();
+        if (previousStackInfo.isError()) {
+            return (StackStepInfo<Optional<R>>) previousStackInfo;
+        } else {
+            return tracer.step(callSite, previousStackInfo, lastOutput, Optional.ofNullable(lastOutput), null, null);
+        }
+    }
+
+    /**
+     * @return this chain, traced with the given retention when it is evaluated, see {@link Retention}
+     */
+    public ResultOrError<R> withRetention(Retention retention) {
+        return new ResultOrError<>(stage, tracer.with(Objects.requireNonNull(retention, "retention")));
     }
 
+    /**
+     * @return this chain, folding consecutive steps of the same call site or not, see
+     * {@link TraceConfig#setFoldRepeats(boolean)}
+     */
+    public ResultOrError<R> withRepeatFolding(boolean foldRepeats) {
+        return new ResultOrError<>(stage, tracer.withRepeatFolding(foldRepeats));
+    }
+
+    /**
+     * the returned chain evaluates this chain only once, the first time any of its getXXX is called,
+     * and then shares that outcome with every later caller, including threads calling at the same time.<br/>
+     * steps added after memoize() still run on each evaluation
+     */
+    public ResultOrError<R> memoize() {
+        final var cell = new OnceCell<StackStepInfo<R>>();
+        return new ResultOrError<>(Stage.source(() -> cell.get(() -> TraceArena.detach(evaluate()))), tracer);
+    }
+
+    /**
+     * @return a chain of int values continuing from this one, which is evaluated now, see {@link IntResultOrError}
+     */
+    public IntResultOrError mapToInt(ExceptionalToIntFunction<? super R> mapper) {
+        return IntResultOrError.from(TraceArena.detach(evaluate()), mapper, tracer);
+    }
+
+    /**
+     * @return a chain of long values continuing from this one, which is evaluated now, see {@link LongResultOrError}
+     */
+    public LongResultOrError mapToLong(ExceptionalToLongFunction<? super R> mapper) {
+        return LongResultOrError.from(TraceArena.detach(evaluate()), mapper, tracer);
+    }
+
+    /**
+     * @return a chain of double values continuing from this one, which is evaluated now, see {@link DoubleResultOrError}
+     */
+    public DoubleResultOrError mapToDouble(ExceptionalToDoubleFunction<? super R> mapper) {
+        return DoubleResultOrError.from(TraceArena.detach(evaluate()), mapper, tracer);
+    }
+
+    /**
+     * the trace of a successful chain is dropped with it, no {@link Result} is made for it
+     */
     public R get() {
-        return getResult().get();
+        final var res = evaluate();
+        if (res.isError()) {
+            return toResult(tracer.step(captureCallSite(), res, res.rawInput(), res.output(), res.exception(), null)).get();
+        }
+        tracer.trace(res, false);
+        return res.output();
     }
 
     public Optional<R> getOption() {
@@ -271,6 +657,13 @@ public class ResultOrError<R> {
         return getResult().getOrSpecError(target, exceptionMapper);
     }
 
+    /**
+     * @see Result#getOrRecover(Class)
+     */
+    public R getOrRecover(Class<R> valueType) {
+        return getResult().getOrRecover(valueType);
+    }
+
     public <E extends RuntimeException> R getOrSpecErrorBy(Class<E> target, Function<Result<R, Exception>, E> exceptionMapper) {
         return getResult().getOrSpecErrorBy(target, exceptionMapper);
     }
@@ -283,22 +676,32 @@ public class ResultOrError<R> {
         return getResult().getOptionOrSpecErrorBy(target, exceptionMapper);
     }
 
-    Result<R, Exception> getResultInPackage(Supplier<? extends StackStepInfo<R>> wrapped) {
-        final var res = (wrapped.get());
+    @SuppressWarnings("unchecked")
+    StackStepInfo<R> evaluate() {
+        return (StackStepInfo<R>) Stage.run(stage, tracer);
+    }
+
+    Result<R, Exception> toResult(StackStepInfo<R> res) {
+        return toResult(res, tracer);
+    }
+
+    static <R> Result<R, Exception> toResult(StackStepInfo<R> res, Tracer tracer) {
         if (res.isError()) {
-            return Result.failure(res.exception(), res);
+            return Result.failure(res.exception(), tracer.trace(res));
         }
-        return Result.success(res.output(), res);
+        return Result.success(res.output(), tracer.trace(res));
     }
 
     public Result<R, Exception> getResult() {
+        final var res = evaluate();
+        return toResult(tracer.step(resultCallSite(res), res, res.rawInput(), res.output(), res.exception(), null));
+    }
 
-        final var wrapped = (Supplier<? extends StackStepInfo<R>>) () -> {
-            final var res = supplier.get();
-            return new StackStepInfo<>(getStackStep(), res, res.input(), res.output(), res.exception());
-        };
-
-        return getResultInPackage(wrapped);
+    /**
+     * the call site of the last step is only needed when the chain failed or its steps are all traced
+     */
+    private int resultCallSite(StackStepInfo<R> res) {
+        return res.isError() || tracer.tracesEveryStep() ? captureCallSite() : CallSites.NONE;
     }
 
     public <W extends RuntimeException>
@@ -0,0 +1,133 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalConsumer;
+import org.xyp.functional.result.ExceptionalFunction;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * a chain of steps defined once and applied to many inputs<br/>
+ * call sites are captured when the pipeline is defined, so {@link #apply(Object)} only runs the steps and builds the
+ * trace, without walking the stack or building a chain<br/>
+ * a pipeline is immutable and can be shared by any number of threads
+ *
+ * <pre>{@code
+ * static final ResultPipeline<String, Integer> PARSE = ResultPipeline.<String>start()
+ *     .map(String::trim)
+ *     .map(Integer::parseInt)
+ *     .filter(i -> i > 0);
+ *
+ * Result<Integer, Exception> result = PARSE.apply(" 42 ");
+ * }</pre>
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+public final class ResultPipeline<I, O> {
+
+    private final Stage stage;
+    private final Tracer tracer;
+
+    private ResultPipeline(Stage stage, Tracer tracer) {
+        this.stage = stage;
+        this.tracer = tracer;
+    }
+
+    public static <I> ResultPipeline<I, I> start() {
+        return start(TraceConfig.getDefaultMode());
+    }
+
+    /**
+     * @param traceMode resolved again on every {@link #apply(Object)}, so {@link TraceMode#SAMPLED} samples inputs and
+     *                  {@link TraceMode#ADAPTIVE} follows the failure rate of the pipeline
+     */
+    public static <I> ResultPipeline<I, I> start(TraceMode traceMode) {
+        final var tracer = TraceConfig.defaults(Objects.requireNonNull(traceMode, "trace mode"));
+        return new ResultPipeline<>(
+            Stage.source(Stage.Kind.INPUT, null, ResultOrError.captureCallSite(tracer)),
+            tracer
+        );
+    }
+
+    private <U> ResultPipeline<I, U> next(Stage.Kind kind, Object function) {
+        return new ResultPipeline<>(stage.then(kind, function, ResultOrError.captureCallSite(tracer, function)), tracer);
+    }
+
+    public ResultPipeline<I, O> filter(Predicate<? super O> predicate) {
+        return next(Stage.Kind.FILTER, predicate);
+    }
+
+    public ResultPipeline<I, O> fallbackForEmpty(Supplier<O> emptySupplier) {
+        return next(Stage.Kind.FALLBACK_EMPTY, emptySupplier);
+    }
+
+    public ResultPipeline<I, O> consume(ExceptionalConsumer<? super O> consumer) {
+        return next(Stage.Kind.CONSUME, consumer);
+    }
+
+    public ResultPipeline<I, O> doOnError(ExceptionalConsumer<? super Exception> consumer) {
+        return next(Stage.Kind.DO_ON_ERROR, consumer);
+    }
+
+    public <U> ResultPipeline<I, U> map(ExceptionalFunction<? super O, ? extends U> mapper) {
+        return next(Stage.Kind.MAP, mapper);
+    }
+
+    public <U> ResultPipeline<I, U> noExMap(Function<? super O, ? extends U> mapper) {
+        return map(mapper::apply);
+    }
+
+    public ResultPipeline<I, O> mapOnError(ExceptionalFunction<Exception, ? extends O> mapper) {
+        return next(Stage.Kind.MAP_ON_ERROR, mapper);
+    }
+
+    public <U> ResultPipeline<I, U> flatMap(Function<? super O, ResultOrError<U>> mapper) {
+        return next(Stage.Kind.FLAT_MAP, mapper);
+    }
+
+    public ResultPipeline<I, Optional<O>> continueWithOptional() {
+        return new ResultPipeline<>(stage.then(Stage.Kind.OPTIONAL, null, ResultOrError.captureCallSite(tracer)), tracer);
+    }
+
+    /**
+     * @return this pipeline, traced with the given retention, see {@link Retention}
+     */
+    public ResultPipeline<I, O> withRetention(Retention retention) {
+        return new ResultPipeline<>(stage, tracer.with(Objects.requireNonNull(retention, "retention")));
+    }
+
+    /**
+     * @return this pipeline, folding consecutive steps of the same call site or not, see
+     * {@link TraceConfig#setFoldRepeats(boolean)}
+     */
+    public ResultPipeline<I, O> withRepeatFolding(boolean foldRepeats) {
+        return new ResultPipeline<>(stage, tracer.withRepeatFolding(foldRepeats));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Result<O, Exception> apply(I input) {
+        final var current = resolve();
+        return ResultOrError.toResult((StackStepInfo<O>) Stage.run(stage, current, input), current);
+    }
+
+    /**
+     * @return a lazy chain running this pipeline on the input, to continue with or to flatMap into
+     */
+    @SuppressWarnings("unchecked")
+    public ResultOrError<O> chain(I input) {
+        final var current = resolve();
+        return new ResultOrError<>(Stage.source(() -> (StackStepInfo<O>) Stage.run(stage, current, input)), current);
+    }
+
+    private Tracer resolve() {
+        final var mode = tracer.mode();
+        if (mode == TraceMode.SAMPLED) {
+            return tracer.with(TraceConfig.resolve(mode));
+        }
+        return mode == TraceMode.ADAPTIVE ? tracer.at(stage.origin()) : tracer;
+    }
+}
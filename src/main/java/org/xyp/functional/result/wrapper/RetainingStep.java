@@ -0,0 +1,30 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * the last step of a chain traced with a {@link Retention} other than {@link Retention#STRONG}: it holds its output,
+ * and the step taking its place once another step follows, holding the output as retained, is made with it
+ */
+final class RetainingStep<T> extends StackStepInfo<T> {
+
+    private final Retention retention;
+    private final StackStepInfo<T> retained;
+
+    RetainingStep(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child,
+        Retention retention
+    ) {
+        super(callSite, previous, input, output, exception, child);
+        this.retention = retention;
+        this.retained = of(callSite, previous, input, retention.retain(output), exception, child);
+    }
+
+    @Override
+    StackStepInfo<T> retainOutput(Retention retention) {
+        return retention == this.retention ? retained : super.retainOutput(retention);
+    }
+}
@@ -0,0 +1,164 @@
+package org.xyp.functional.result.wrapper;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * how the inputs and outputs of the steps before the last one are held by a trace<br/>
+ * the last step always holds its output, it is the value of the result
+ */
+public enum Retention {
+    /**
+     * values are held as they are, for as long as the trace is reachable
+     */
+    STRONG,
+    /**
+     * values are rendered to a string of at most {@link TraceConfig#getSnapshotLength()} characters when the step is
+     * traced, {@link StackStepInfo#input()} and {@link StackStepInfo#output()} then return null
+     */
+    SNAPSHOT,
+    /**
+     * values are held through weak references, and may be null once collected
+     */
+    WEAK,
+    /**
+     * values are not held
+     */
+    NONE;
+
+    private record Snapshot(String text) {
+    }
+
+    private static final class Weak extends WeakReference<Object> {
+        Weak(Object referent) {
+            super(referent);
+        }
+    }
+
+    private static final Object DROPPED = new Object();
+
+    /**
+     * @return what a trace step stores for the value
+     */
+    Object retain(Object value) {
+        if (null == value || this == STRONG || value instanceof Snapshot || value instanceof Weak || value == DROPPED) {
+            return value;
+        }
+        return switch (this) {
+            case SNAPSHOT -> new Snapshot(snapshot(value));
+            case WEAK -> new Weak(value);
+            default -> DROPPED;
+        };
+    }
+
+    /**
+     * @return what a trace step stores for a value it never held
+     */
+    static Object dropped() {
+        return DROPPED;
+    }
+
+    /**
+     * @return the value behind what {@link #retain(Object)} stored, null if it is not held anymore
+     */
+    static Object value(Object stored) {
+        if (stored instanceof Snapshot || stored == DROPPED) {
+            return null;
+        } else if (stored instanceof Weak weak) {
+            return weak.get();
+        }
+        return stored;
+    }
+
+    static String render(Object stored) {
+        if (stored instanceof Snapshot snapshot) {
+            return snapshot.text();
+        } else if (stored == DROPPED) {
+            return "<not retained>";
+        } else if (stored instanceof Weak weak) {
+            final var value = weak.get();
+            return null == value ? "<collected>" : Objects.toString(value);
+        }
+        return Objects.toString(stored);
+    }
+
+    private static String snapshot(Object value) {
+        final var text = new Snapshotter(TraceConfig.getSnapshotLength());
+        text.append(value);
+        return text.toString();
+    }
+
+    /**
+     * renders a value into at most the snapshot length: a char sequence, or a collection or map of java.util, is only
+     * read as far as the snapshot goes, other values still render in full through their toString
+     */
+    private static final class Snapshotter {
+        private final StringBuilder text;
+        private final int length;
+        private boolean cut;
+
+        Snapshotter(int length) {
+            this.text = new StringBuilder(Math.min(length, 64));
+            this.length = length;
+        }
+
+        /**
+         * @return whether there is room for more
+         */
+        boolean append(Object value) {
+            if (value instanceof CharSequence chars) {
+                return appendChars(chars);
+            } else if (value instanceof Collection<?> collection && isJavaUtil(value)) {
+                return appendAll("[", collection.iterator(), "]");
+            } else if (value instanceof Map<?, ?> map && isJavaUtil(value)) {
+                return appendAll("{", map.entrySet().iterator(), "}");
+            }
+            return appendChars(String.valueOf(value));
+        }
+
+        private static boolean isJavaUtil(Object value) {
+            return value.getClass().getName().startsWith("java.util.");
+        }
+
+        private boolean appendChars(CharSequence chars) {
+            final var room = length - text.length();
+            if (chars.length() > room) {
+                text.append(chars, 0, Math.max(room, 0));
+                cut = true;
+                return false;
+            }
+            text.append(chars);
+            return true;
+        }
+
+        private boolean appendAll(String open, Iterator<?> values, String close) {
+            if (!appendChars(open)) {
+                return false;
+            }
+            var first = true;
+            while (values.hasNext()) {
+                final var value = values.next();
+                if (!first && !appendChars(", ")) {
+                    return false;
+                }
+                first = false;
+                if (value instanceof Map.Entry<?, ?> entry) {
+                    if (!append(entry.getKey()) || !appendChars("=") || !append(entry.getValue())) {
+                        return false;
+                    }
+                } else if (!append(value)) {
+                    return false;
+                }
+            }
+            return appendChars(close);
+        }
+
+        @Override
+        public String toString() {
+            return cut ? text + " ..." : text.toString();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * the trace of a {@link Result} obtained in the scope of a {@link TraceArena}, which may hold pooled steps<br/>
+ * results only hand it out through {@link #detach(StackStepInfo)}. it is copied out of the pool the first time it is
+ * read, or before the arena reuses its steps, so a result escaping the scope keeps its trace
+ */
+final class ScopedTrace<T> extends StackStepInfo<T> {
+
+    private final TraceArena arena;
+    private final long generation;
+    private StackStepInfo<T> last;
+    private boolean copied;
+    private boolean joined;
+
+    ScopedTrace(StackStepInfo<T> last, TraceArena arena, long generation) {
+        super(CallSites.NONE, null, null, null, null);
+        this.last = last;
+        this.arena = arena;
+        this.generation = generation;
+    }
+
+    /**
+     * @return the trace a result hands out, copied out of the pool
+     */
+    static <T> StackStepInfo<T> detach(StackStepInfo<T> trace) {
+        if (!(trace instanceof ScopedTrace<T> scoped)) {
+            return trace;
+        }
+        return scoped.copy();
+    }
+
+    /**
+     * @return the trace of the result, to be the child of a step of the same run, not copied while its scope is open
+     */
+    static <T> StackStepInfo<T> childOf(Result<T, ?> result) {
+        final StackStepInfo<T> trace;
+        if (result instanceof Success<T, ?> success) {
+            trace = success.trace();
+        } else if (result instanceof Failure<T, ?> failure) {
+            trace = failure.trace();
+        } else {
+            return result.getStackStepInfo().orElse(null);
+        }
+        if (trace instanceof ScopedTrace<T> scoped) {
+            return scoped.join();
+        }
+        return trace;
+    }
+
+    /**
+     * the steps of a joined trace are part of the trace of the step joining it, which is copied in its place
+     */
+    private synchronized StackStepInfo<T> join() {
+        if (!copied && arena.isLive(generation)) {
+            joined = true;
+            return last;
+        }
+        return copy();
+    }
+
+    private synchronized StackStepInfo<T> copy() {
+        if (!copied) {
+            if (joined && arena.isRecycled(generation)) {
+                return TraceArena.holdsPooled(last) ? null : last;
+            }
+            last = TraceArena.copyOut(last);
+            copied = true;
+        }
+        return last;
+    }
+
+    /**
+     * called by the arena before it reuses the steps of the ended scope
+     */
+    synchronized void escape() {
+        if (!joined) {
+            copy();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * stands in a {@link TraceMode#BOUNDED} trace for the steps that were not kept
+ */
+final class SkippedSteps extends StackStepInfo<Object> {
+
+    private final long count;
+
+    SkippedSteps(StackStepInfo<?> previous, long count) {
+        super(CallSites.NONE, previous, null, null, null, null);
+        this.count = count;
+    }
+
+    @Override
+    public long skippedSteps() {
+        return count;
+    }
+
+    @Override
+    StackStepInfo<Object> retainOutput(Retention retention) {
+        return this;
+    }
+
+    @Override
+    StackStepInfo<Object> relink(StackStepInfo<?> previous) {
+        return new SkippedSteps(previous, count);
+    }
+
+    @Override
+    StackStepInfo<Object> copy(StackStepInfo<?> previous, StackStepInfo<Object> child) {
+        return relink(previous);
+    }
+}
@@ -1,7 +1,6 @@
 package org.xyp.functional.result.wrapper;
 
 
-import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
@@ -72,28 +71,35 @@ public class StackLogUtil {
         StackStepInfo<?> currentStackInfo,
         BiFunction<String, StackStepInfo<?>, String> logGenerator
     ) {
+        if (currentStackInfo.skippedSteps() > 0) {
+            sb.append(prefix).append("... ").append(currentStackInfo.skippedSteps()).append(" steps skipped ...")
+                .append(System.lineSeparator());
+            return;
+        }
         final var log2 = logGenerator.apply(prefix, currentStackInfo);
         sb.append(log2).append(System.lineSeparator());
     }
 
+    private static String truncate(String s) {
+        return s.length() > MAX_SIZE ? s.substring(0, MAX_SIZE) + " ..." : s;
+    }
+
     private static String getLogForSingleStack(String prefix, StackStepInfo<?> currentStackInfo) {
-        final var frame = currentStackInfo.stackFrame().toString();
+        final var frame = CallSites.render(currentStackInfo.callSite());
 
-        final var input = Optional.of(Objects.toString(currentStackInfo.input()))
-            .map(s -> {
-                if (s.length() > MAX_SIZE) {
-                    return s.substring(0, MAX_SIZE) + " ...";
-                }
-                return s;
-            }).orElse(null);
-        final var output = Optional.of(Objects.toString(currentStackInfo.output()))
-            .map(s -> {
-                if (s.length() > MAX_SIZE) {
-                    return s.substring(0, MAX_SIZE) + " ...";
-                }
-                return s;
-            }).orElse(null);
+        final var input = truncate(currentStackInfo.renderInput());
+        final var output = truncate(currentStackInfo.renderOutput());
 
+        if (currentStackInfo.repeatCount() > 1) {
+            final var folded = String.format("%s%s (x%d)\n%s    ->: %s ... %s\n%s    <-: %s ... %s",
+                prefix, frame, currentStackInfo.repeatCount(),
+                prefix, input, truncate(currentStackInfo.renderLastInput()),
+                prefix, truncate(currentStackInfo.renderFirstOutput()), output
+            );
+            return currentStackInfo.isError()
+                ? folded + String.format("\n%s    [x] %s", prefix, currentStackInfo.exception())
+                : folded;
+        }
         if (currentStackInfo.isError()) {
             return String.format("%s%s\n%s    ->: %s\n%s    <-: %s\n%s    [x] %s",
                 prefix, frame,
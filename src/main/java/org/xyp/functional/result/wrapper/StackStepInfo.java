@@ -3,13 +3,23 @@ package org.xyp.functional.result.wrapper;
 
 import java.util.Optional;
 
+/**
+ * one step of a trace<br/>
+ * a node only holds the fields every step needs, 32 bytes with compressed oops whether it succeeded or failed,
+ * the child trace of a flatMap step is held by a subclass, see {@link #of}
+ */
 public class StackStepInfo<T> {
-    private final StackWalker.StackFrame stackFrame;
+    private final int callSite;
     private final StackStepInfo<?> previous;
+    /**
+     * the input, or a {@link ChildLink} when a child was given to a constructor of this class
+     */
     private final Object input;
-    private final T output;
+    private final Object output;
     private final Exception exception;
-    private final StackStepInfo<T> child;
+
+    private record ChildLink(Object input, StackStepInfo<?> child) {
+    }
 
     public StackStepInfo(
         StackWalker.StackFrame stackFrame,
@@ -19,20 +29,57 @@ public class StackStepInfo<T> {
         Exception exception,
         StackStepInfo<T> child
     ) {
-        this.stackFrame = stackFrame;
+        this(CallSites.intern(stackFrame), previous, input, output, exception, child);
+    }
+
+    StackStepInfo(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        this(callSite, previous, null == child ? input : new ChildLink(input, child), output, exception);
+    }
+
+    StackStepInfo(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception
+    ) {
+        this.callSite = callSite;
         this.previous = previous;
         this.input = input;
         this.output = output;
         this.exception = exception;
-        this.child = child;
+    }
+
+    /**
+     * @return the most compact node for the step
+     */
+    static <T> StackStepInfo<T> of(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        if (null == child) {
+            return new StackStepInfo<>(callSite, previous, input, output, exception);
+        }
+        return new ChildStep<>(callSite, previous, input, output, exception, child);
     }
 
     public boolean isError() {
-        return null != exception;
+        return null != exception();
     }
 
     public Optional<StackStepInfo<T>> getChild() {
-        return Optional.ofNullable(child);
+        return Optional.ofNullable(child());
     }
 
     public StackStepInfo(
@@ -46,26 +93,119 @@ public class StackStepInfo<T> {
     }
 
     public StackWalker.StackFrame stackFrame() {
-        return stackFrame;
+        return CallSites.frame(callSite());
+    }
+
+    int callSite() {
+        return callSite;
+    }
+
+    Object rawInput() {
+        return input instanceof ChildLink link ? link.input() : input;
+    }
+
+    Object rawOutput() {
+        return output;
     }
 
     public StackStepInfo<?> previous() {
         return previous;
     }
 
+    /**
+     * @return the input of this step, null if it is not retained, see {@link Retention}
+     */
     public Object input() {
-        return input;
+        return Retention.value(rawInput());
     }
 
+    /**
+     * @return the output of this step, null if it is not retained, see {@link Retention}
+     */
+    @SuppressWarnings("unchecked")
     public T output() {
-        return output;
+        return (T) Retention.value(rawOutput());
+    }
+
+    /**
+     * @return the input as a trace log shows it, available whatever the {@link Retention}
+     */
+    public String renderInput() {
+        return Retention.render(rawInput());
+    }
+
+    public String renderOutput() {
+        return Retention.render(rawOutput());
+    }
+
+    /**
+     * @return a copy of this step holding its output as the retention says
+     */
+    StackStepInfo<T> retainOutput(Retention retention) {
+        return new StackStepInfo<>(callSite, previous, input, retention.retain(output), exception);
+    }
+
+    /**
+     * @return a copy of this step following the given one
+     */
+    StackStepInfo<T> relink(StackStepInfo<?> previous) {
+        return new StackStepInfo<>(callSite, previous, input, output, exception);
+    }
+
+    /**
+     * @return a copy of this step following the given step, with the given child
+     */
+    StackStepInfo<T> copy(StackStepInfo<?> previous, StackStepInfo<T> child) {
+        return of(callSite(), previous, rawInput(), rawOutput(), exception(), child);
+    }
+
+    /**
+     * @return how many consecutive steps of the same call site this node stands for, see
+     * {@link TraceConfig#setFoldRepeats(boolean)}
+     */
+    public long repeatCount() {
+        return 1;
+    }
+
+    /**
+     * @return the output of the first of the folded steps, the output of this step when nothing is folded
+     */
+    public Object firstOutput() {
+        return output();
+    }
+
+    /**
+     * @return the input of the last of the folded steps, the input of this step when nothing is folded
+     */
+    public Object lastInput() {
+        return input();
+    }
+
+    Object rawFirstOutput() {
+        return rawOutput();
+    }
+
+    String renderFirstOutput() {
+        return renderOutput();
+    }
+
+    String renderLastInput() {
+        return renderInput();
+    }
+
+    /**
+     * @return how many steps of a {@link TraceMode#BOUNDED} trace this node stands for, 0 for a real step
+     */
+    public long skippedSteps() {
+        return 0;
     }
 
     public Exception exception() {
         return exception;
     }
 
+    @SuppressWarnings("unchecked")
     public StackStepInfo<T> child() {
-        return child;
+        return input instanceof ChildLink link ? (StackStepInfo<T>) link.child() : null;
     }
 }
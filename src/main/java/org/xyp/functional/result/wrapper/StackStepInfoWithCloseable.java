@@ -31,6 +31,19 @@ public class StackStepInfoWithCloseable<C extends AutoCloseable, T>
         this.closeable = closeable;
     }
 
+    StackStepInfoWithCloseable(
+        int callSite,
+        StackStepInfo<?> previous,
+        C closeable,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        super(callSite, previous, input, output, exception, child);
+        this.closeable = closeable;
+    }
+
     @Override
     public void close() throws Exception {
         if (closeable != null) {
@@ -42,4 +55,19 @@ public class StackStepInfoWithCloseable<C extends AutoCloseable, T>
         return closeable;
     }
 
+    @Override
+    StackStepInfoWithCloseable<C, T> retainOutput(Retention retention) {
+        return new StackStepInfoWithCloseable<>(callSite(), previous(), closeable, rawInput(), retention.retain(rawOutput()), exception(), child());
+    }
+
+    @Override
+    StackStepInfoWithCloseable<C, T> relink(StackStepInfo<?> previous) {
+        return new StackStepInfoWithCloseable<>(callSite(), previous, closeable, rawInput(), rawOutput(), exception(), child());
+    }
+
+    @Override
+    StackStepInfoWithCloseable<C, T> copy(StackStepInfo<?> previous, StackStepInfo<T> child) {
+        return new StackStepInfoWithCloseable<>(callSite(), previous, closeable, rawInput(), rawOutput(), exception(), child);
+    }
+
 }
@@ -0,0 +1,232 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalConsumer;
+import org.xyp.functional.result.ExceptionalFunction;
+import org.xyp.functional.result.ExceptionalRunnable;
+import org.xyp.functional.result.ExceptionalSupplier;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * one typed link of a lazily built chain, pointing back to the link it was built on<br/>
+ * a link only holds its {@link Kind}, the user function and the captured call site, the behaviour of each kind lives
+ * in {@link #run(Stage, Tracer)}, which evaluates a chain in a flat loop over its compiled array of links, and runs
+ * the chains returned by flatMap through an explicit stack of pending joins, so the java stack depth does not grow with
+ * the length or the nesting of a chain
+ */
+final class Stage {
+
+    enum Kind {
+        /**
+         * function is the value
+         */
+        OF,
+        /**
+         * function is an {@link ExceptionalSupplier}
+         */
+        ON,
+        /**
+         * function is an {@link ExceptionalRunnable}
+         */
+        RUN,
+        /**
+         * function is a {@link Supplier} of the first step
+         */
+        SOURCE,
+        /**
+         * the value is the input given to {@link #run(Stage, Tracer, Object)}, see {@link ResultPipeline}
+         */
+        INPUT,
+        MAP,
+        FILTER,
+        CONSUME,
+        FALLBACK_EMPTY,
+        MAP_ON_ERROR,
+        DO_ON_ERROR,
+        OPTIONAL,
+        FLAT_MAP,
+        /**
+         * function is a {@link Step}, given no previous step when it starts a chain
+         */
+        STEP,
+        /**
+         * function is a {@link Bind}
+         */
+        BIND
+    }
+
+    /**
+     * @param <P> previous step type
+     * @param <N> next step type
+     */
+    @FunctionalInterface
+    interface Step<P extends StackStepInfo<?>, N extends StackStepInfo<?>> {
+        N apply(P previous, Tracer tracer);
+    }
+
+    /**
+     * a step continuing with another chain, see flatMap
+     *
+     * @param <U> value type of the other chain
+     */
+    interface Bind<P extends StackStepInfo<?>, N extends StackStepInfo<?>, U> {
+        /**
+         * @return the chain to run next, or null to let the previous step pass through
+         */
+        ResultOrError<U> child(P previous);
+
+        N join(P previous, Result<U, Exception> childResult, Tracer tracer);
+    }
+
+    private final Stage previous;
+    private final Kind kind;
+    private final Object function;
+    private final int callSite;
+    private final int length;
+    private volatile Stage[] compiled;
+
+    private Stage(Stage previous, Kind kind, Object function, int callSite) {
+        this.previous = previous;
+        this.kind = kind;
+        this.function = function;
+        this.callSite = callSite;
+        this.length = null == previous ? 1 : previous.length + 1;
+    }
+
+    static Stage source(Kind kind, Object function, int callSite) {
+        return new Stage(null, kind, function, callSite);
+    }
+
+    static Stage source(Supplier<? extends StackStepInfo<?>> source) {
+        return source(Kind.SOURCE, source, CallSites.NONE);
+    }
+
+    /**
+     * @return the call site of the source of the chain
+     */
+    int origin() {
+        return compile()[0].callSite;
+    }
+
+    Stage then(Kind kind, Object function, int callSite) {
+        return new Stage(this, kind, function, callSite);
+    }
+
+    Stage then(Step<?, ?> step) {
+        return then(Kind.STEP, step, CallSites.NONE);
+    }
+
+    Stage then(Bind<?, ?, ?> bind) {
+        return then(Kind.BIND, bind, CallSites.NONE);
+    }
+
+    /**
+     * @return the links from the source to this one, built once per evaluated tail
+     */
+    private Stage[] compile() {
+        var stages = compiled;
+        if (null == stages) {
+            stages = new Stage[length];
+            var current = this;
+            for (int i = length - 1; i >= 0; i--) {
+                stages[i] = current;
+                current = current.previous;
+            }
+            compiled = stages;
+        }
+        return stages;
+    }
+
+    private record Pending(Stage[] stages, int index, Tracer tracer, StackStepInfo<?> previous, ResultOrError<?> child) {
+    }
+
+    static StackStepInfo<?> run(Stage tail, Tracer tracer) {
+        return run(tail, tracer, null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static StackStepInfo<?> run(Stage tail, Tracer tracer, Object input) {
+        ArrayDeque<Pending> pending = null;
+        var active = tracer.forRun();
+        var stages = tail.compile();
+        StackStepInfo current = stages[0].start(active, input);
+        active.begin(current);
+        var index = 1;
+        while (true) {
+            if (index < stages.length) {
+                final var stage = stages[index++];
+                final var function = stage.function;
+                final var callSite = stage.callSite;
+                switch (stage.kind) {
+                    case MAP -> current = ResultOrError.getStackStepInfoByMapper((ExceptionalFunction) function, current, callSite, active);
+                    case FILTER -> current = ResultOrError.getStackStepInfoByFilter((Predicate) function, current, callSite, active);
+                    case CONSUME -> current = ResultOrError.getStackByConsume((ExceptionalConsumer) function, current, callSite, active);
+                    case FALLBACK_EMPTY -> current = ResultOrError.getStackStepInfoByFallback((Supplier) function, current, callSite, active);
+                    case MAP_ON_ERROR -> current = ResultOrError.getStackStepInfoByMapOnError((ExceptionalFunction) function, current, callSite, active);
+                    case DO_ON_ERROR -> current = ResultOrError.getStackStepInfoByDoOnError((ExceptionalConsumer) function, current, callSite, active);
+                    case OPTIONAL -> current = ResultOrError.getStackStepInfoByOptional(current, callSite, active);
+                    case STEP -> current = ((Step) function).apply(current, active);
+                    case FLAT_MAP, BIND -> {
+                        final var child = stage.kind == Kind.FLAT_MAP
+                            ? ResultOrError.flatMapChild((Function) function, current)
+                            : ((Bind) function).child(current);
+                        if (null != child) {
+                            if (null == pending) {
+                                pending = new ArrayDeque<>();
+                            }
+                            pending.push(new Pending(stages, index, active, current, child));
+                            active = child.tracer().forRun();
+                            stages = child.stage().compile();
+                            current = stages[0].start(active, null);
+                            active.begin(current);
+                            index = 1;
+                        }
+                    }
+                    default -> throw new IllegalStateException("source stage in the middle of a chain: " + stage.kind);
+                }
+            } else if (null == pending || pending.isEmpty()) {
+                return active.finish(current);
+            } else {
+                current = active.finish(current);
+                final var joining = pending.pop();
+                final var stage = joining.stages()[joining.index() - 1];
+                final var childResult = joining.child().toResult(current);
+                active = joining.tracer();
+                current = stage.kind == Kind.FLAT_MAP
+                    ? ResultOrError.getStackStepInfoByJoin(joining.previous(), childResult, stage.callSite, active)
+                    : ((Bind) stage.function).join(joining.previous(), childResult, active);
+                stages = joining.stages();
+                index = joining.index();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private StackStepInfo<?> start(Tracer tracer, Object input) {
+        return switch (kind) {
+            case OF -> tracer.step(callSite, null, null, function, null, null);
+            case INPUT -> tracer.step(callSite, null, null, input, null, null);
+            case ON -> {
+                try {
+                    yield tracer.step(callSite, null, null, ((ExceptionalSupplier<?>) function).get(), null, null);
+                } catch (Exception exception) {
+                    yield tracer.step(callSite, null, null, null, exception, null);
+                }
+            }
+            case RUN -> {
+                try {
+                    ((ExceptionalRunnable) function).run();
+                    yield tracer.step(callSite, null, null, null, null, null);
+                } catch (Exception exception) {
+                    yield tracer.step(callSite, null, null, null, exception, null);
+                }
+            }
+            case SOURCE -> ((Supplier<? extends StackStepInfo<?>>) function).get();
+            case STEP -> ((Step<StackStepInfo<?>, ? extends StackStepInfo<?>>) function).apply(null, tracer);
+            default -> throw new IllegalStateException("chain does not start with a source stage: " + kind);
+        };
+    }
+}
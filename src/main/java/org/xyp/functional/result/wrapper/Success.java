@@ -62,9 +62,21 @@ public record Success<T, E extends Exception>(T value, StackStepInfo<T> stackSte
         return value;
     }
 
+    /**
+     * @return the trace of this result, copied out of the pool when it was obtained in a {@link TraceArena} scope
+     */
+    @Override
+    public StackStepInfo<T> stackStepInfo() {
+        return ScopedTrace.detach(stackStepInfo);
+    }
+
     @Override
     public Optional<StackStepInfo<T>> getStackStepInfo() {
-        return Optional.ofNullable(stackStepInfo);
+        return Optional.ofNullable(stackStepInfo());
+    }
+
+    StackStepInfo<T> trace() {
+        return stackStepInfo;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,247 @@
+package org.xyp.functional.result.wrapper;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * a scope in which the trace steps of the chains run on the current thread come from a pool of that thread,
+ * and go back to it all at once when the scope ends. meant for chains whose trace is dropped as soon as their value is taken
+ * <pre>
+ * try (var ignored = TraceArena.open()) {
+ *     return ResultOrError.on(...).map(...).get();
+ * }
+ * </pre>
+ * a trace read from a {@link Result} is copied out of the pool. the steps of an ended scope stay as they are until the
+ * next scope of the thread takes its first step, the traces of the results still reachable and not read yet are copied
+ * out then, so a result escaping the scope keeps its trace. {@code get()} only taking the value of a successful chain
+ * leaves no trace to copy.<br/>
+ * a scope opened in an open scope of the same thread joins it, the steps go back when the outermost one ends.
+ * {@link EagerResultOrError}, {@link TraceMode#BOUNDED} chains and the steps holding a closeable do not use the pool
+ */
+public final class TraceArena implements AutoCloseable {
+
+    /**
+     * steps a scope takes beyond this are allocated as usual
+     */
+    static final int MAX_POOLED_STEPS = 1 << 12;
+    /**
+     * the traces a scope hands out beyond this while the ones before are still reachable are copied out at once
+     */
+    static final int MAX_TRACKED_TRACES = 1 << 8;
+
+    private static final AtomicInteger OPEN = new AtomicInteger();
+    private static final ThreadLocal<TraceArena> ARENAS = new ThreadLocal<>();
+
+    private final Thread owner;
+    private final Tracer[] tracers = new Tracer[Tracer.count()];
+    private final ArrayList<WeakReference<ScopedTrace<?>>> tracked = new ArrayList<>();
+    private PooledStep<?>[] pool = new PooledStep<?>[64];
+    private int used;
+    /**
+     * the steps taken by the ended scope, not recycled yet
+     */
+    private int ended;
+    private int depth;
+    private volatile long generation;
+    /**
+     * the steps of the generations before this one were recycled
+     */
+    private volatile long recycled;
+
+    private TraceArena(Thread owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return the arena of the current thread, open until {@link #close()}
+     */
+    public static TraceArena open() {
+        var arena = ARENAS.get();
+        if (null == arena) {
+            arena = new TraceArena(Thread.currentThread());
+            ARENAS.set(arena);
+        }
+        if (arena.depth++ == 0) {
+            OPEN.incrementAndGet();
+        }
+        return arena;
+    }
+
+    /**
+     * runs the body in a scope, see {@link #open()}
+     */
+    public static <R> R scoped(Supplier<R> body) {
+        final var scope = open();
+        try {
+            return body.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * ends the scope, the steps it took go back to the pool once the outermost scope ends. they are recycled by the
+     * next scope, after the traces of the results obtained in this one are copied out
+     */
+    @Override
+    public void close() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("a trace arena must be closed by the thread that opened it");
+        }
+        if (depth == 0 || --depth > 0) {
+            return;
+        }
+        OPEN.decrementAndGet();
+        ended = used;
+        used = 0;
+        generation++;
+    }
+
+    /**
+     * copies out the traces still pointing at the steps of the ended scope, before they are reused
+     */
+    private void recycle() {
+        for (var reference : tracked) {
+            final var trace = reference.get();
+            if (null != trace) {
+                trace.escape();
+            }
+        }
+        tracked.clear();
+        recycled = generation;
+        for (int i = 0; i < ended; i++) {
+            pool[i].clear();
+        }
+        ended = 0;
+    }
+
+    /**
+     * @return the open arena of the current thread, null if there is none
+     */
+    static TraceArena active() {
+        if (OPEN.get() == 0) {
+            return null;
+        }
+        final var arena = ARENAS.get();
+        return null != arena && arena.depth > 0 ? arena : null;
+    }
+
+    /**
+     * @return the tracer with the settings of the given one, taking its steps from this arena
+     */
+    Tracer tracer(Tracer tracer) {
+        final var index = tracer.index();
+        var scoped = tracers[index];
+        if (null == scoped) {
+            scoped = tracer.in(this);
+            tracers[index] = scoped;
+        }
+        return scoped;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> StackStepInfo<T> step(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        if (ended > 0) {
+            recycle();
+        }
+        if (used == pool.length) {
+            if (used == MAX_POOLED_STEPS) {
+                return StackStepInfo.of(callSite, previous, input, output, exception, child);
+            }
+            pool = Arrays.copyOf(pool, used * 2);
+        }
+        var step = (PooledStep<T>) pool[used];
+        if (null == step) {
+            step = new PooledStep<>();
+            pool[used] = step;
+        }
+        used++;
+        return step.set(callSite, previous, input, output, exception, child);
+    }
+
+    /**
+     * @return the trace a result of this scope exposes, only tracked while it holds pooled steps
+     */
+    <T> StackStepInfo<T> expose(StackStepInfo<T> last) {
+        if (!holdsPooled(last)) {
+            return last;
+        }
+        if (tracked.size() == MAX_TRACKED_TRACES) {
+            tracked.removeIf(reference -> null == reference.get());
+            if (tracked.size() == MAX_TRACKED_TRACES) {
+                return copyOut(last);
+            }
+        }
+        final var trace = new ScopedTrace<>(last, this, generation);
+        tracked.add(new WeakReference<>(trace));
+        return trace;
+    }
+
+    /**
+     * @return whether the steps this arena handed out in the given generation can still be read
+     */
+    boolean isLive(long generation) {
+        return Thread.currentThread() == owner && depth > 0 && this.generation == generation;
+    }
+
+    /**
+     * @return whether the steps this arena handed out in the given generation may have been reused
+     */
+    boolean isRecycled(long generation) {
+        return generation < recycled;
+    }
+
+    /**
+     * @return the given steps, copied out of the pool when a scope is open on the current thread
+     */
+    static <T> StackStepInfo<T> detach(StackStepInfo<T> last) {
+        return null == active() ? last : copyOut(last);
+    }
+
+    /**
+     * @return the trace with its pooled steps, and the steps following them, copied
+     */
+    @SuppressWarnings("unchecked")
+    static <T> StackStepInfo<T> copyOut(StackStepInfo<T> last) {
+        if (null == last) {
+            return null;
+        }
+        final var steps = new ArrayList<StackStepInfo<Object>>();
+        for (StackStepInfo<?> current = last; null != current; current = current.previous()) {
+            steps.add((StackStepInfo<Object>) current);
+        }
+        StackStepInfo<?> copied = null;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            final var step = steps.get(i);
+            final var child = copyOut(step.child());
+            copied = step instanceof PooledStep || step.previous() != copied || step.child() != child
+                ? step.copy(copied, child)
+                : step;
+        }
+        return (StackStepInfo<T>) copied;
+    }
+
+    /**
+     * only follows the steps up to the first pooled one, the pool may have reused it since
+     *
+     * @return whether the trace holds a pooled step
+     */
+    static boolean holdsPooled(StackStepInfo<?> last) {
+        for (var current = last; null != current; current = current.previous()) {
+            if (current instanceof PooledStep || holdsPooled(current.child())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
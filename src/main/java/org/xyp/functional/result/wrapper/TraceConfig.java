@@ -0,0 +1,165 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * global trace settings, used by chains that do not specify their own {@link TraceMode}
+ */
+public class TraceConfig {
+    private TraceConfig() {
+    }
+
+    private static volatile TraceMode defaultMode = TraceMode.FULL;
+    private static volatile int sampleRate = 100;
+    private static volatile CallSiteCapture callSiteCapture = CallSiteCapture.STACK_WALK;
+    private static volatile Retention defaultRetention = Retention.STRONG;
+    private static volatile int snapshotLength = 150;
+    private static volatile int boundedFirstSteps = 8;
+    private static volatile int boundedLastSteps = 32;
+    private static volatile boolean foldRepeats = false;
+    private static volatile double adaptiveThreshold = 0.05;
+    private static volatile int adaptiveWindow = 100;
+    private static volatile FailureRethrow failureRethrow = FailureRethrow.WRAP;
+
+    public static TraceMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public static void setDefaultMode(TraceMode mode) {
+        defaultMode = Objects.requireNonNull(mode, "trace mode");
+    }
+
+    public static int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param rate with {@link TraceMode#SAMPLED}, one chain of every {@code rate} chains is traced
+     */
+    public static void setSampleRate(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("sample rate must be positive, but was " + rate);
+        }
+        sampleRate = rate;
+    }
+
+    public static CallSiteCapture getCallSiteCapture() {
+        return callSiteCapture;
+    }
+
+    public static void setCallSiteCapture(CallSiteCapture capture) {
+        callSiteCapture = Objects.requireNonNull(capture, "call site capture");
+    }
+
+    public static Retention getDefaultRetention() {
+        return defaultRetention;
+    }
+
+    public static void setDefaultRetention(Retention retention) {
+        defaultRetention = Objects.requireNonNull(retention, "retention");
+    }
+
+    public static int getSnapshotLength() {
+        return snapshotLength;
+    }
+
+    /**
+     * @param length the longest string {@link Retention#SNAPSHOT} keeps of a value
+     */
+    public static void setSnapshotLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("snapshot length must not be negative, but was " + length);
+        }
+        snapshotLength = length;
+    }
+
+    public static int getBoundedFirstSteps() {
+        return boundedFirstSteps;
+    }
+
+    public static int getBoundedLastSteps() {
+        return boundedLastSteps;
+    }
+
+    /**
+     * @param firstSteps how many steps from the start of a {@link TraceMode#BOUNDED} run are kept
+     * @param lastSteps  how many steps up to the end of a {@link TraceMode#BOUNDED} run are kept, at least the last one
+     */
+    public static synchronized void setBoundedTrace(int firstSteps, int lastSteps) {
+        if (firstSteps < 0 || lastSteps < 1) {
+            throw new IllegalArgumentException("bounded trace needs firstSteps >= 0 and lastSteps >= 1, but was "
+                + firstSteps + " and " + lastSteps);
+        }
+        boundedFirstSteps = firstSteps;
+        boundedLastSteps = lastSteps;
+    }
+
+    public static boolean isFoldRepeats() {
+        return foldRepeats;
+    }
+
+    /**
+     * @param fold whether consecutive steps of the same call site, as built by a loop, are folded into one trace node
+     *             counting them, see {@link StackStepInfo#repeatCount()}
+     */
+    public static void setFoldRepeats(boolean fold) {
+        foldRepeats = fold;
+    }
+
+    public static double getAdaptiveThreshold() {
+        return adaptiveThreshold;
+    }
+
+    public static int getAdaptiveWindow() {
+        return adaptiveWindow;
+    }
+
+    /**
+     * @param threshold the share of failed chains above which a call site is traced as {@link TraceMode#FULL} with
+     *                  {@link TraceMode#ADAPTIVE}, from 0 to 1
+     * @param window    how many chains of a call site are counted before its mode is decided again
+     */
+    public static synchronized void setAdaptiveTrace(double threshold, int window) {
+        if (!(threshold >= 0 && threshold < 1) || window < 1) {
+            throw new IllegalArgumentException("adaptive trace needs 0 <= threshold < 1 and window >= 1, but was "
+                + threshold + " and " + window);
+        }
+        adaptiveThreshold = threshold;
+        adaptiveWindow = window;
+    }
+
+    public static FailureRethrow getFailureRethrow() {
+        return failureRethrow;
+    }
+
+    /**
+     * @param rethrow what a failed result throws for a checked exception when its value is asked for
+     */
+    public static void setFailureRethrow(FailureRethrow rethrow) {
+        failureRethrow = Objects.requireNonNull(rethrow, "failure rethrow");
+    }
+
+    /**
+     * the tracer of a new chain, with the default settings
+     */
+    static Tracer tracer(TraceMode mode) {
+        return defaults(resolve(mode));
+    }
+
+    static Tracer defaults(TraceMode mode) {
+        return Tracer.of(mode, defaultRetention, foldRepeats);
+    }
+
+    /**
+     * decide the mode a new chain really runs with, {@link TraceMode#SAMPLED} is never returned
+     */
+    static TraceMode resolve(TraceMode mode) {
+        final var requested = Objects.requireNonNull(mode, "trace mode");
+        if (requested != TraceMode.SAMPLED) {
+            return requested;
+        }
+        final var rate = sampleRate;
+        return rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0 ? TraceMode.FULL : TraceMode.OFF;
+    }
+}
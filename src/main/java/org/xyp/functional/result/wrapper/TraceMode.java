@@ -0,0 +1,43 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * how much of the call chain is recorded into {@link StackStepInfo} while a chain runs
+ */
+public enum TraceMode {
+    /**
+     * no call site is captured and no trace is kept, a result carries no {@link StackStepInfo}
+     */
+    OFF,
+    /**
+     * call sites are captured, but only the failing steps are kept in the trace
+     */
+    ERRORS_ONLY,
+    /**
+     * one chain of every {@link TraceConfig#getSampleRate()} chains is traced as {@link #FULL}, others as {@link #OFF}
+     */
+    SAMPLED,
+    /**
+     * every step is kept in the trace
+     */
+    FULL,
+    /**
+     * the first {@link TraceConfig#getBoundedFirstSteps()} and the last {@link TraceConfig#getBoundedLastSteps()} steps
+     * of a run are kept, the steps between them are replaced by one node counting them, see
+     * {@link StackStepInfo#skippedSteps()}<br/>
+     * {@link EagerResultOrError} keeps every step, as with {@link #FULL}
+     */
+    BOUNDED,
+    /**
+     * the steps only record their call site while the chain runs, a successful chain carries no trace, as with
+     * {@link #ERRORS_ONLY}. when a step fails, the steps before it are turned into trace steps holding their call site,
+     * only the step just before the failing one holds its output, the others render as not retained<br/>
+     * {@link EagerResultOrError} keeps only the failing steps, as with {@link #ERRORS_ONLY}
+     */
+    TAIL,
+    /**
+     * chains are traced as {@link #TAIL}, and as {@link #FULL} while the chains started at the same call site fail more
+     * often than {@link TraceConfig#getAdaptiveThreshold()}, see {@link TraceConfig#setAdaptiveTrace(double, int)}.
+     * the mode of a chain is decided when it is started, a {@link ResultPipeline} decides it for each input
+     */
+    ADAPTIVE
+}
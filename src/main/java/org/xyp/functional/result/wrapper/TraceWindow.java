@@ -0,0 +1,85 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * the steps of one run of a {@link TraceMode#BOUNDED} chain: the first steps, a ring of the last steps, and how many
+ * steps fell out between them<br/>
+ * steps are recorded unlinked, {@link #link(StackStepInfo)} links the kept ones once the run is over
+ */
+final class TraceWindow {
+
+    private final StackStepInfo<?>[] head;
+    private final StackStepInfo<?>[] tail;
+    private final Retention retention;
+    private int headSize;
+    private int tailSize;
+    private int tailNext;
+    private long skipped;
+    private StackStepInfo<?> last;
+
+    TraceWindow(int firstSteps, int lastSteps, Retention retention) {
+        this.head = new StackStepInfo<?>[firstSteps];
+        this.tail = new StackStepInfo<?>[lastSteps];
+        this.retention = retention;
+    }
+
+    boolean isEmpty() {
+        return null == last;
+    }
+
+    void add(StackStepInfo<?> step) {
+        if (null != last && retention != Retention.STRONG) {
+            replaceLast(last.retainOutput(retention));
+        }
+        if (headSize < head.length) {
+            head[headSize++] = step;
+        } else {
+            if (tailSize == tail.length) {
+                skipped++;
+            } else {
+                tailSize++;
+            }
+            tail[tailNext] = step;
+            tailNext = (tailNext + 1) % tail.length;
+        }
+        last = step;
+    }
+
+    /**
+     * puts the step in place of the last one, which it folds
+     */
+    void replace(StackStepInfo<?> step) {
+        replaceLast(step);
+        last = step;
+    }
+
+    private void replaceLast(StackStepInfo<?> step) {
+        if (tailSize == 0) {
+            head[headSize - 1] = step;
+        } else {
+            tail[(tailNext + tail.length - 1) % tail.length] = step;
+        }
+    }
+
+    /**
+     * @return the kept steps linked in order, ending with a copy of the last one
+     */
+    @SuppressWarnings("unchecked")
+    <T> StackStepInfo<T> link(StackStepInfo<T> current) {
+        if (current != last) {
+            add(current);
+        }
+        StackStepInfo<?> linked = null;
+        for (int i = 0; i < headSize; i++) {
+            linked = null == linked ? head[i] : head[i].relink(linked);
+        }
+        if (skipped > 0) {
+            linked = new SkippedSteps(linked, skipped);
+        }
+        final var oldest = tailNext - tailSize + tail.length;
+        for (int i = 0; i < tailSize; i++) {
+            final var step = tail[(oldest + i) % tail.length];
+            linked = null == linked ? step : step.relink(linked);
+        }
+        return (StackStepInfo<T>) linked;
+    }
+}
@@ -0,0 +1,52 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.FunctionException;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * a {@link FunctionException} created without walking the stack: its stack trace lists the call sites of the trace
+ * of the failed chain instead, from the last step back to the first, see {@link FailureRethrow#TRACE}<br/>
+ * a chain traced with {@link TraceMode#OFF} leaves it with an empty stack trace<br/>
+ * to throw it from {@link Result#getOrSpecErrorBy(Class, java.util.function.Function)}, use
+ * {@code TracedFunctionException::of} as the mapper
+ */
+public class TracedFunctionException extends FunctionException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient StackStepInfo<?> stackStepInfo;
+
+    public TracedFunctionException(Exception cause, StackStepInfo<?> stackStepInfo) {
+        super(null == cause ? null : cause.toString(), cause);
+        this.stackStepInfo = stackStepInfo;
+        setStackTrace(stackTraceOf(stackStepInfo));
+    }
+
+    public static TracedFunctionException of(Result<?, ? extends Exception> result) {
+        return new TracedFunctionException(result.getError(), result.getStackStepInfo().orElse(null));
+    }
+
+    public Optional<StackStepInfo<?>> getStackStepInfo() {
+        return Optional.ofNullable(stackStepInfo);
+    }
+
+    /**
+     * the stack is not walked, the stack trace is set from the trace afterwards
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    private static StackTraceElement[] stackTraceOf(StackStepInfo<?> last) {
+        final var elements = new ArrayList<StackTraceElement>();
+        for (var current = last; null != current; current = current.previous()) {
+            final var element = CallSites.element(current.callSite());
+            if (null != element) {
+                elements.add(element);
+            }
+        }
+        return elements.toArray(new StackTraceElement[0]);
+    }
+}
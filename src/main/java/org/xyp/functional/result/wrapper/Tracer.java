@@ -0,0 +1,321 @@
+package org.xyp.functional.result.wrapper;
+
+/**
+ * the trace settings a chain runs with, and the factory of its {@link StackStepInfo} nodes<br/>
+ * the shared instances only hold the settings, a run of a {@link TraceMode#BOUNDED} chain gets its own instance
+ * recording its steps into a {@link TraceWindow}, see {@link #forRun()}
+ */
+final class Tracer {
+
+    private static final Tracer[] TRACERS = new Tracer[TraceMode.values().length * Retention.values().length * 2];
+
+    static {
+        for (var mode : TraceMode.values()) {
+            for (var retention : Retention.values()) {
+                TRACERS[index(mode, retention, false)] = new Tracer(mode, retention, false, null, null, null, null);
+                TRACERS[index(mode, retention, true)] = new Tracer(mode, retention, true, null, null, null, null);
+            }
+        }
+    }
+
+    private final TraceMode mode;
+    private final Retention retention;
+    private final boolean foldRepeats;
+    private final TraceWindow window;
+    private final TraceArena arena;
+    private final Breadcrumbs breadcrumbs;
+    private final AdaptiveSite site;
+
+    private Tracer(
+        TraceMode mode,
+        Retention retention,
+        boolean foldRepeats,
+        TraceWindow window,
+        TraceArena arena,
+        Breadcrumbs breadcrumbs,
+        AdaptiveSite site
+    ) {
+        this.mode = mode;
+        this.retention = retention;
+        this.foldRepeats = foldRepeats;
+        this.window = window;
+        this.arena = arena;
+        this.breadcrumbs = breadcrumbs;
+        this.site = site;
+    }
+
+    static int index(TraceMode mode, Retention retention, boolean foldRepeats) {
+        return (mode.ordinal() * Retention.values().length + retention.ordinal()) * 2 + (foldRepeats ? 1 : 0);
+    }
+
+    static Tracer of(TraceMode mode, Retention retention, boolean foldRepeats) {
+        return TRACERS[index(mode, retention, foldRepeats)];
+    }
+
+    static int count() {
+        return TRACERS.length;
+    }
+
+    int index() {
+        return index(mode, retention, foldRepeats);
+    }
+
+    /**
+     * @return a tracer with these settings taking its steps from the arena
+     */
+    Tracer in(TraceArena arena) {
+        return new Tracer(mode, retention, foldRepeats, null, arena, null, null);
+    }
+
+    Tracer with(TraceMode mode) {
+        return of(mode, retention, foldRepeats);
+    }
+
+    Tracer with(Retention retention) {
+        return null == site ? of(mode, retention, foldRepeats) : site.tracer(mode, retention, foldRepeats);
+    }
+
+    Tracer withRepeatFolding(boolean foldRepeats) {
+        return null == site ? of(mode, retention, foldRepeats) : site.tracer(mode, retention, foldRepeats);
+    }
+
+    /**
+     * @param callSite where the chain is started
+     * @return the tracer of a new chain, {@link TraceMode#ADAPTIVE} is decided by the call site
+     */
+    Tracer at(int callSite) {
+        return mode == TraceMode.ADAPTIVE ? AdaptiveSite.of(callSite).tracer(retention, foldRepeats) : this;
+    }
+
+    /**
+     * @return a tracer with these settings counting the outcomes of its chains for the site
+     */
+    Tracer at(AdaptiveSite site) {
+        return new Tracer(mode, retention, foldRepeats, null, null, null, site);
+    }
+
+    TraceMode mode() {
+        return mode;
+    }
+
+    boolean isOff() {
+        return mode == TraceMode.OFF;
+    }
+
+    /**
+     * @return the tracer to create the steps of one run with
+     */
+    Tracer forRun() {
+        if (mode == TraceMode.BOUNDED) {
+            final var steps = new TraceWindow(TraceConfig.getBoundedFirstSteps(), TraceConfig.getBoundedLastSteps(), retention);
+            return new Tracer(mode, retention, foldRepeats, steps, null, null, null);
+        }
+        if (mode == TraceMode.TAIL) {
+            return new Tracer(mode, retention, foldRepeats, null, null == arena ? TraceArena.active() : arena, new Breadcrumbs(), null);
+        }
+        if (null != arena) {
+            return this;
+        }
+        final var active = TraceArena.active();
+        return null == active ? this : active.tracer(this);
+    }
+
+    /**
+     * records the first step of a run, when it was not created by this tracer
+     */
+    void begin(StackStepInfo<?> first) {
+        if (null != window && window.isEmpty()) {
+            window.add(first);
+        }
+    }
+
+    /**
+     * @return the last step of a run, linked to the steps kept before it
+     */
+    <T> StackStepInfo<T> finish(StackStepInfo<T> last) {
+        return null == window ? last : window.link(last);
+    }
+
+    <T> StackStepInfo<T> step(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        T output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        if (mode == TraceMode.OFF || (onlyErrors() && null == exception)) {
+            if (null != breadcrumbs) {
+                breadcrumbs.add(callSite);
+            }
+            return node(CallSites.NONE, null, null, output, exception, null);
+        } else if (onlyErrors()) {
+            final var step = linked(callSite, retain(failedBefore(previous)), retainInput(previous, input), output, exception, retain(child));
+            if (null != breadcrumbs) {
+                breadcrumbs.failed(step);
+            }
+            return step;
+        } else if (foldRepeats && null == child && isRepeatOf(callSite, previous)) {
+            final var folded = new RepeatedSteps<T>(
+                callSite,
+                previous.previous(),
+                previous.rawInput(),
+                retention.retain(previous.rawFirstOutput()),
+                retainInput(previous, input),
+                output,
+                exception,
+                previous.repeatCount() + 1
+            );
+            if (null != window) {
+                window.replace(folded);
+            }
+            return folded;
+        } else if (null != window) {
+            final var step = linked(callSite, null, retainInput(previous, input), output, exception, retain(child));
+            window.add(step);
+            return step;
+        }
+        return linked(callSite, retain(previous), retainInput(previous, input), output, exception, retain(child));
+    }
+
+    /**
+     * @return the node of a step another step may follow, retention is applied to its output once, as it is created
+     */
+    private <T> StackStepInfo<T> linked(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        if (null != arena || null == output || retention == Retention.STRONG) {
+            return node(callSite, previous, input, output, exception, child);
+        }
+        return new RetainingStep<>(callSite, previous, input, output, exception, child, retention);
+    }
+
+    private <T> StackStepInfo<T> node(
+        int callSite,
+        StackStepInfo<?> previous,
+        Object input,
+        Object output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        return null == arena
+            ? StackStepInfo.of(callSite, previous, input, output, exception, child)
+            : arena.step(callSite, previous, input, output, exception, child);
+    }
+
+    <C extends AutoCloseable, T> StackStepInfoWithCloseable<C, T> step(
+        int callSite,
+        StackStepInfo<?> previous,
+        C closeable,
+        Object input,
+        T output,
+        Exception exception,
+        StackStepInfo<T> child
+    ) {
+        if (mode == TraceMode.OFF || (onlyErrors() && null == exception)) {
+            if (null != breadcrumbs) {
+                breadcrumbs.add(callSite);
+            }
+            return new StackStepInfoWithCloseable<>(CallSites.NONE, null, closeable, null, output, exception, null);
+        } else if (onlyErrors()) {
+            final var step = new StackStepInfoWithCloseable<>(callSite, retain(failedBefore(previous)), closeable, retention.retain(input), output, exception, retain(child));
+            if (null != breadcrumbs) {
+                breadcrumbs.failed(step);
+            }
+            return step;
+        } else if (null != window) {
+            final var step = new StackStepInfoWithCloseable<>(callSite, null, closeable, retention.retain(input), output, exception, retain(child));
+            window.add(step);
+            return step;
+        }
+        return new StackStepInfoWithCloseable<>(callSite, retain(previous), closeable, retention.retain(input), output, exception, retain(child));
+    }
+
+    /**
+     * @return the trace a {@link Result} should expose for the last step of a chain
+     */
+    <T> StackStepInfo<T> trace(StackStepInfo<T> last) {
+        final var exposed = trace(last, last.isError());
+        if (null == exposed) {
+            return null;
+        }
+        final var active = TraceArena.active();
+        return null == active ? exposed : active.expose(exposed);
+    }
+
+    /**
+     * for the chains only creating a step where {@link #tracesEveryStep()} or where a step fails
+     *
+     * @param last   the last step created, null if there is none
+     * @param failed whether the chain failed
+     * @return the trace a result should expose
+     */
+    <T> StackStepInfo<T> trace(StackStepInfo<T> last, boolean failed) {
+        if (null != site) {
+            site.record(failed);
+        }
+        if (mode == TraceMode.OFF || (onlyErrors() && !failed)) {
+            return null;
+        }
+        return last;
+    }
+
+    /**
+     * @return whether the successful steps are part of the trace
+     */
+    boolean tracesEveryStep() {
+        return mode == TraceMode.FULL || mode == TraceMode.BOUNDED;
+    }
+
+    /**
+     * a step stops being the last one once another step links to it, from then on its output is held as configured
+     */
+    private <T> StackStepInfo<T> retain(StackStepInfo<T> step) {
+        if (null == step || retention == Retention.STRONG || null == step.rawOutput()) {
+            return step;
+        }
+        return step.retainOutput(retention);
+    }
+
+    /**
+     * the input of a step is mostly the output of the previous one, which is then retained once for both
+     */
+    private Object retainInput(StackStepInfo<?> previous, Object input) {
+        if (previous instanceof RetainingStep<?> last && null != input && input == last.rawOutput()) {
+            return last.retainOutput(retention).rawOutput();
+        }
+        return retention.retain(input);
+    }
+
+    /**
+     * @return whether a new step of the call site can be folded into the previous one
+     */
+    private static boolean isRepeatOf(int callSite, StackStepInfo<?> previous) {
+        return callSite != CallSites.NONE
+            && null != previous
+            && previous.callSite() == callSite
+            && !previous.isError()
+            && null == previous.child()
+            && (previous.getClass() == StackStepInfo.class || previous instanceof RetainingStep || previous instanceof PooledStep || previous instanceof RepeatedSteps);
+    }
+
+    private boolean onlyErrors() {
+        return mode == TraceMode.ERRORS_ONLY || mode == TraceMode.TAIL || mode == TraceMode.ADAPTIVE;
+    }
+
+    /**
+     * @return the step a failing step follows: the previous one if it failed too, else the steps recorded by the
+     * breadcrumbs of a {@link TraceMode#TAIL} run
+     */
+    private StackStepInfo<?> failedBefore(StackStepInfo<?> previous) {
+        if (null != previous && previous.isError()) {
+            return previous;
+        }
+        return null == breadcrumbs ? null : breadcrumbs.link(previous, retention);
+    }
+}
@@ -0,0 +1,110 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * maps the elements of a collection concurrently, see {@link ResultOrError#traverse(List, ExceptionalFunction, int, Executor)}<br/>
+ * at most {@code parallelism} workers run on the executor, each taking the next element not taken yet, so a slow
+ * element does not hold the others back. every element gets a result of its own, traced as one step with the element
+ * as input<br/>
+ * failing fast, the first failure stops the workers from taking more elements and cancels them, interrupting the
+ * elements in progress. an {@link Error} thrown by the mapper cancels them as well and is rethrown
+ */
+final class Traverse {
+    private Traverse() {
+    }
+
+    /**
+     * @param collect builds the value of the step from the results of all elements, in their order
+     * @return the step of the traversal: its value, or the failure of the first element failed with its trace as child
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R, X> StackStepInfo<X> run(
+        List<? extends T> items,
+        ExceptionalFunction<? super T, ? extends R> mapper,
+        int parallelism,
+        Executor executor,
+        boolean failFast,
+        Function<Result<R, Exception>[], X> collect,
+        int callSite,
+        Tracer tracer
+    ) {
+        final var count = items.size();
+        final var results = (Result<R, Exception>[]) new Result<?, ?>[count];
+        final var elements = tracer.with(tracer.mode());
+        final var next = new AtomicInteger();
+        final var failed = new AtomicInteger(-1);
+        final Runnable worker = () -> {
+            int index;
+            while ((!failFast || failed.get() < 0) && (index = next.getAndIncrement()) < count) {
+                final var result = Traverse.<T, R>apply(items.get(index), mapper, callSite, elements);
+                results[index] = result;
+                if (failFast && !result.isSuccess()) {
+                    failed.compareAndSet(-1, index);
+                }
+            }
+        };
+
+        final var workers = Math.min(parallelism, count);
+        final var service = new ExecutorCompletionService<Void>(executor);
+        final var futures = new ArrayList<Future<Void>>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(service.submit(worker, null));
+            }
+            for (int i = 0; i < workers; i++) {
+                Zip.take(service).get();
+                if (failed.get() >= 0) {
+                    cancel(futures);
+                    final var failure = results[failed.get()];
+                    return tracer.step(callSite, null, null, null, failure.getError(), ScopedTrace.childOf((Result<X, Exception>) (Result<?, Exception>) failure));
+                }
+            }
+        } catch (ExecutionException exception) {
+            cancel(futures);
+            final var cause = exception.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return tracer.step(callSite, null, null, null, cause instanceof Exception e ? e : exception, null);
+        } catch (RejectedExecutionException exception) {
+            cancel(futures);
+            return tracer.step(callSite, null, null, null, exception, null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            return tracer.step(callSite, null, null, null, exception, null);
+        }
+        return tracer.step(callSite, null, null, collect.apply(results), null, null);
+    }
+
+    private static <T, R> Result<R, Exception> apply(
+        T item,
+        ExceptionalFunction<? super T, ? extends R> mapper,
+        int callSite,
+        Tracer tracer
+    ) {
+        try {
+            final R value = mapper.apply(item);
+            return Result.<R, Exception>success(value, tracer.trace(tracer.step(callSite, null, item, value, null, null), false));
+        } catch (Exception exception) {
+            return Result.<R, Exception>failure(exception, tracer.trace(tracer.<R>step(callSite, null, item, null, exception, null), true));
+        }
+    }
+
+    private static void cancel(List<Future<Void>> futures) {
+        for (var future : futures) {
+            future.cancel(true);
+        }
+    }
+}
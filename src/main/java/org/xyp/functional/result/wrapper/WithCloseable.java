@@ -2,6 +2,7 @@ package org.xyp.functional.result.wrapper;
 
 import org.xyp.functional.result.*;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -11,23 +12,21 @@ import java.util.stream.Stream;
 
 public class WithCloseable<C extends AutoCloseable, T> {
 
-    static StackWalker.StackFrame getStackStep() {
-        return StackWalker.getInstance()
-            .walk(stream -> stream.filter(s ->
-                    !s.toStackTraceElement().getClassName().equals(WithCloseable.class.getName())
-                        && !s.toStackTraceElement().getClassName().equals(ResultOrError.class.getName())
-                )
-                .findFirst())
-            .orElse(null);
+    int captureCallSite() {
+        return ResultOrError.captureCallSite(tracer);
+    }
+
+    int captureCallSite(Object function) {
+        return ResultOrError.captureCallSite(tracer, function);
     }
 
     private static <L extends AutoCloseable> StackStepInfoWithCloseable<L, L>
-    openStackStepInfoWithCloseable(ExceptionalSupplier<L> open, StackWalker.StackFrame frame) {
+    openStackStepInfoWithCloseable(ExceptionalSupplier<L> open, int callSite, Tracer tracer) {
         try {
             final var closeable = open.get();
-            return new StackStepInfoWithCloseable<>(frame, null, closeable, null, closeable, null);
+            return tracer.step(callSite, null, closeable, null, closeable, null, null);
         } catch (Exception t) {
-            return new StackStepInfoWithCloseable<>(frame, null, null, null, null, t);
+            return tracer.step(callSite, null, null, null, null, t, null);
         }
     }
 
@@ -36,7 +35,8 @@ public class WithCloseable<C extends AutoCloseable, T> {
     getStackStepInfoByMapper(
         ExceptionalFunction<? super R, ? extends U> mapper,
         StackStepInfoWithCloseable<C, R> previousStackInfo,
-        StackWalker.StackFrame frame
+        int callSite,
+        Tracer tracer
     ) {
         final var lastOutput = previousStackInfo.output();
         if (previousStackInfo.isError()) {
@@ -45,9 +45,9 @@ public class WithCloseable<C extends AutoCloseable, T> {
             final var closeable = previousStackInfo.closeable();
             try {
                 final var mappedVal = mapper.apply(lastOutput);
-                return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, mappedVal, null);
+                return tracer.step(callSite, previousStackInfo, closeable, lastOutput, mappedVal, null, null);
             } catch (Exception t) {
-                return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, t);
+                return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, t, null);
             }
         } else {
             return (StackStepInfoWithCloseable<C, U>) previousStackInfo;
@@ -58,7 +58,8 @@ public class WithCloseable<C extends AutoCloseable, T> {
     getStackByConsume(
         ExceptionalConsumer<? super R> consumer,
         StackStepInfoWithCloseable<C, R> prevStack,
-        StackWalker.StackFrame frame
+        int callSite,
+        Tracer tracer
     ) {
         final var lastOutput = prevStack.output();
         if (prevStack.isError()) {
@@ -67,9 +68,9 @@ public class WithCloseable<C extends AutoCloseable, T> {
             final var closeable = prevStack.closeable();
             try {
                 consumer.accept(lastOutput);
-                return new StackStepInfoWithCloseable<>(frame, prevStack, closeable, lastOutput, lastOutput, null);
+                return tracer.step(callSite, prevStack, closeable, lastOutput, lastOutput, null, null);
             } catch (Exception exception) {
-                return new StackStepInfoWithCloseable<>(frame, prevStack, closeable, lastOutput, null, exception);
+                return tracer.step(callSite, prevStack, closeable, lastOutput, null, exception, null);
             }
         } else {
             return prevStack;
@@ -79,7 +80,8 @@ public class WithCloseable<C extends AutoCloseable, T> {
     static <C extends AutoCloseable, R> StackStepInfoWithCloseable<C, R> getStackStepInfoByFilter(
         Predicate<? super R> predicate,
         StackStepInfoWithCloseable<C, R> prevStack,
-        StackWalker.StackFrame frame
+        int callSite,
+        Tracer tracer
     ) {
         if (prevStack.isError()) {
             return prevStack;
@@ -90,17 +92,21 @@ public class WithCloseable<C extends AutoCloseable, T> {
             if (null != lastOutput && predicate.test(lastOutput)) {
                 return prevStack;
             } else {
-                return new StackStepInfoWithCloseable<>(frame, prevStack, closeable, null, null, null);
+                return tracer.step(callSite, prevStack, closeable, null, null, null, null);
             }
         } catch (Exception exception) {
-            return new StackStepInfoWithCloseable<>(frame, prevStack, closeable, lastOutput, null, exception);
+            return tracer.step(callSite, prevStack, closeable, lastOutput, null, exception, null);
         }
     }
 
     public static <L extends AutoCloseable> WithCloseable<L, L> open(ExceptionalSupplier<L> open) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> openStackStepInfoWithCloseable(open, frame),
+        return open(TraceConfig.getDefaultMode(), open);
+    }
+
+    public static <L extends AutoCloseable> WithCloseable<L, L> open(TraceMode traceMode, ExceptionalSupplier<L> open) {
+        return open(
+            traceMode,
+            open,
             // (closeable, exception) onException
             (__, ___) -> {
             }
@@ -111,194 +117,189 @@ public class WithCloseable<C extends AutoCloseable, T> {
         ExceptionalSupplier<L> open,
         BiConsumer<L, Exception> exceptionConsumer
     ) {
-        final var frame = getStackStep();
+        return open(TraceConfig.getDefaultMode(), open, exceptionConsumer);
+    }
+
+    public static <L extends AutoCloseable> WithCloseable<L, L> open(
+        TraceMode traceMode,
+        ExceptionalSupplier<L> open,
+        BiConsumer<L, Exception> exceptionConsumer
+    ) {
+        final var base = TraceConfig.tracer(traceMode);
+        final var callSite = ResultOrError.captureCallSite(base, open);
+        final var tracer = base.at(callSite);
         return new WithCloseable<>(
-            () -> openStackStepInfoWithCloseable(open, frame),
-            exceptionConsumer
+            Stage.source(() -> openStackStepInfoWithCloseable(open, callSite, tracer)),
+            exceptionConsumer,
+            tracer
         );
     }
 
-    final Supplier<StackStepInfoWithCloseable<C, T>> closeableSupplier;
+    final Stage stage;
     final BiConsumer<C, Exception> exceptionConsumer;
+    final Tracer tracer;
 
     private WithCloseable(
-        Supplier<StackStepInfoWithCloseable<C, T>> closeableSupplier,
-        BiConsumer<C, Exception> exceptionConsumer
+        Stage stage,
+        BiConsumer<C, Exception> exceptionConsumer,
+        Tracer tracer
     ) {
-        this.closeableSupplier = closeableSupplier;
+        this.stage = stage;
         this.exceptionConsumer = exceptionConsumer;
+        this.tracer = tracer;
+    }
+
+    private <U> WithCloseable<C, U> next(
+        Stage.Step<StackStepInfoWithCloseable<C, T>, StackStepInfoWithCloseable<C, U>> step
+    ) {
+        return new WithCloseable<>(stage.then(step), exceptionConsumer, tracer);
+    }
+
+    /**
+     * @return this chain, traced with the given retention when it is evaluated, see {@link Retention}
+     */
+    public WithCloseable<C, T> withRetention(Retention retention) {
+        return new WithCloseable<>(stage, exceptionConsumer, tracer.with(Objects.requireNonNull(retention, "retention")));
     }
 
     public <U> WithCloseable<C, U> map(ExceptionalFunction<? super T, ? extends U> function) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                return getStackStepInfoByMapper(function, previousStackInfo, frame);
-            },
-            exceptionConsumer
-        );
+        final var callSite = captureCallSite(function);
+        return next((previousStackInfo, tracer) -> getStackStepInfoByMapper(function, previousStackInfo, callSite, tracer));
     }
 
     public WithCloseable<C, T> fallBackEmpty(Function<C, T> emptySupplier) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return previousStackInfo;
-                } else if (null == lastOutput) {
-                    final var closeable = previousStackInfo.closeable();
-                    try {
-                        final var mappedVal = emptySupplier.apply(closeable);
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, null, mappedVal, null);
-                    } catch (Exception t) {
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, null, null, t);
-                    }
-                } else {
-                    return previousStackInfo;
+        final var callSite = captureCallSite(emptySupplier);
+        return next((previousStackInfo, tracer) -> {
+            final var lastOutput = previousStackInfo.output();
+            if (previousStackInfo.isError()) {
+                return previousStackInfo;
+            } else if (null == lastOutput) {
+                final var closeable = previousStackInfo.closeable();
+                try {
+                    final var mappedVal = emptySupplier.apply(closeable);
+                    return tracer.step(callSite, previousStackInfo, closeable, null, mappedVal, null, null);
+                } catch (Exception t) {
+                    return tracer.step(callSite, previousStackInfo, closeable, null, null, t, null);
                 }
-            },
-            exceptionConsumer
-        );
+            } else {
+                return previousStackInfo;
+            }
+        });
     }
 
     public WithCloseable<C, T> consume(ExceptionalConsumer<? super T> consumer) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                return getStackByConsume(consumer, previousStackInfo, frame);
-            },
-            this.exceptionConsumer
-        );
+        final var callSite = captureCallSite(consumer);
+        return next((previousStackInfo, tracer) -> getStackByConsume(consumer, previousStackInfo, callSite, tracer));
     }
 
     public WithCloseable<C, T> doOnError(ExceptionalBiConsumer<C, Exception> consumer) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                try {
-                    if (previousStackInfo.isError()) {
-                        consumer.accept(previousStackInfo.closeable(), previousStackInfo.exception());
-                        final var closeable = previousStackInfo.closeable();
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, previousStackInfo.exception());
-                    } else {
-                        return previousStackInfo;
-                    }
-                } catch (Exception t) {
+        final var callSite = captureCallSite(consumer);
+        return next((previousStackInfo, tracer) -> {
+            final var lastOutput = previousStackInfo.output();
+            try {
+                if (previousStackInfo.isError()) {
+                    consumer.accept(previousStackInfo.closeable(), previousStackInfo.exception());
                     final var closeable = previousStackInfo.closeable();
-                    return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, t);
+                    return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, previousStackInfo.exception(), null);
+                } else {
+                    return previousStackInfo;
                 }
-            },
-            this.exceptionConsumer
-        );
+            } catch (Exception t) {
+                final var closeable = previousStackInfo.closeable();
+                return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, t, null);
+            }
+        });
     }
 
     public WithCloseable<C, T> mapOnError(ExceptionalBiFunction<C, Exception, T> consumer) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                try {
-                    if (previousStackInfo.isError()) {
-                        final var newValueForError = consumer.apply(previousStackInfo.closeable(), previousStackInfo.exception());
-                        final var closeable = previousStackInfo.closeable();
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, previousStackInfo.exception(), newValueForError, null);
-                    } else {
-                        return previousStackInfo;
-                    }
-                } catch (Exception t) {
+        final var callSite = captureCallSite(consumer);
+        return next((previousStackInfo, tracer) -> {
+            final var lastOutput = previousStackInfo.output();
+            try {
+                if (previousStackInfo.isError()) {
+                    final var newValueForError = consumer.apply(previousStackInfo.closeable(), previousStackInfo.exception());
                     final var closeable = previousStackInfo.closeable();
-                    return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, t);
+                    return tracer.step(callSite, previousStackInfo, closeable, previousStackInfo.exception(), newValueForError, null, null);
+                } else {
+                    return previousStackInfo;
                 }
-            },
-            this.exceptionConsumer
-        );
+            } catch (Exception t) {
+                final var closeable = previousStackInfo.closeable();
+                return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, t, null);
+            }
+        });
     }
 
 
     @SuppressWarnings("unchecked")
     public <U> WithCloseable<C, U> mapWithCloseable(ExceptionalBiFunction<? super C, ? super T, ? extends U> biFunction) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return (StackStepInfoWithCloseable<C, U>) previousStackInfo;
-                } else {
-                    final var closeable = previousStackInfo.closeable();
-                    try {
-                        final var mappedVal = biFunction.apply(closeable, lastOutput);
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, mappedVal, null);
-                    } catch (Exception t) {
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, t);
-                    }
+        final var callSite = captureCallSite(biFunction);
+        return next((previousStackInfo, tracer) -> {
+            final var lastOutput = previousStackInfo.output();
+            if (previousStackInfo.isError()) {
+                return (StackStepInfoWithCloseable<C, U>) previousStackInfo;
+            } else {
+                final var closeable = previousStackInfo.closeable();
+                try {
+                    final var mappedVal = biFunction.apply(closeable, lastOutput);
+                    return tracer.step(callSite, previousStackInfo, closeable, lastOutput, mappedVal, null, null);
+                } catch (Exception t) {
+                    return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, t, null);
                 }
-            },
-            this.exceptionConsumer
-        );
+            }
+        });
     }
 
     public WithCloseable<C, T> filter(Predicate<? super T> predicate) {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var prevStack = closeableSupplier.get();
-                return getStackStepInfoByFilter(predicate, prevStack, frame);
-            },
-            this.exceptionConsumer
-        );
+        final var callSite = captureCallSite(predicate);
+        return next((prevStack, tracer) -> getStackStepInfoByFilter(predicate, prevStack, callSite, tracer));
     }
 
-    @SuppressWarnings("unchecked")
     public <U> WithCloseable<C, U> flatMap(Function<? super T, ResultOrError<U>> mapper) {
-        final var frame = getStackStep();
+        final var callSite = captureCallSite(mapper);
         return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return (StackStepInfoWithCloseable<C, U>) previousStackInfo;
-                } else if (null != lastOutput) {
-                    final var mapperROE = mapper.apply(lastOutput);
-                    final var mappedResult = mapperROE.getResultInPackage(mapperROE.supplier());
-                    final var childStack = mappedResult.getStackStepInfo();
+            stage.then(new Stage.Bind<StackStepInfoWithCloseable<C, T>, StackStepInfoWithCloseable<C, U>, U>() {
+                @Override
+                public ResultOrError<U> child(StackStepInfoWithCloseable<C, T> previousStackInfo) {
+                    final var lastOutput = previousStackInfo.output();
+                    if (previousStackInfo.isError() || null == lastOutput) {
+                        return null;
+                    }
+                    return mapper.apply(lastOutput);
+                }
+
+                @Override
+                public StackStepInfoWithCloseable<C, U> join(
+                    StackStepInfoWithCloseable<C, T> previousStackInfo,
+                    Result<U, Exception> mappedResult,
+                    Tracer tracer
+                ) {
+                    final var lastOutput = previousStackInfo.output();
+                    final var childStack = ScopedTrace.childOf(mappedResult);
                     final var closeable = previousStackInfo.closeable();
-                    if (mappedResult.isSuccess()) {
-                        final var mappedVal = mappedResult.get();
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, mappedVal, null, childStack.orElse(null));
+                    if (mappedResult instanceof Success<U, Exception> success) {
+                        return tracer.step(callSite, previousStackInfo, closeable, lastOutput, success.value(), null, childStack);
                     } else {
-                        return new StackStepInfoWithCloseable<>(frame, previousStackInfo, closeable, lastOutput, null, mappedResult.getError(), childStack.orElse(null));
+                        return tracer.step(callSite, previousStackInfo, closeable, lastOutput, null, mappedResult.getError(), childStack);
                     }
-                } else {
-                    return (StackStepInfoWithCloseable<C, U>) previousStackInfo;
                 }
-            },
-            this.exceptionConsumer
+            }),
+            this.exceptionConsumer,
+            tracer
         );
     }
 
     @SuppressWarnings("unchecked")
     public WithCloseable<C, Optional<T>> continueWithOptional() {
-        final var frame = getStackStep();
-        return new WithCloseable<>(
-            () -> {
-                final var previousStackInfo = closeableSupplier.get();
-                final var lastOutput = previousStackInfo.output();
-                if (previousStackInfo.isError()) {
-                    return (StackStepInfoWithCloseable<C, Optional<T>>) previousStackInfo;
-                } else {
-                    return new StackStepInfoWithCloseable<>(frame, previousStackInfo, previousStackInfo.closeable(), lastOutput, Optional.ofNullable(lastOutput), null, null);
-                }
-            },
-            this.exceptionConsumer
-        );
+        final var callSite = captureCallSite();
+        return next((previousStackInfo, tracer) -> {
+            final var lastOutput = previousStackInfo.output();
+            if (previousStackInfo.isError()) {
+                return (StackStepInfoWithCloseable<C, Optional<T>>) previousStackInfo;
+            } else {
+                return tracer.step(callSite, previousStackInfo, previousStackInfo.closeable(), lastOutput, Optional.ofNullable(lastOutput), null, null);
+            }
+        });
     }
 
     public T closeAndGet() {
@@ -322,39 +323,57 @@ public class WithCloseable<C extends AutoCloseable, T> {
         return closeAndGetResult().mapError(target, exceptionMapper);
     }
 
+    /**
+     * the closeable is opened, used and closed once, on the first getXXX of the returned chain,
+     * see {@link ResultOrError#memoize()}
+     */
+    public ResultOrError<T> closeAndMemoize() {
+        return convertToResult().memoize();
+    }
+
     private ResultOrError<T> convertToResult() {
 
-        final var frame = getStackStep();
+        final var callSite = captureCallSite();
         final var wrapped = (Supplier<StackStepInfo<T>>) () -> {
             C localCloseable = null;
             StackStepInfoWithCloseable<C, T> localRes = null;
-            try (var res = closeableSupplier.get()) {
+            try (var res = evaluate()) {
                 localCloseable = res.closeable();
                 localRes = res;
                 if (res.isError()) {
                     this.exceptionConsumer.accept(localCloseable, res.exception());
-                    localRes = new StackStepInfoWithCloseable<>(frame, res, localCloseable, res.output(), res.output(), res.exception());
+                    localRes = tracer.step(callSite, res, localCloseable, res.output(), res.output(), res.exception(), null);
                 }
             } catch (Exception e) {
-                localRes = new StackStepInfoWithCloseable<>(
-                    StackWalker.getInstance().walk(Stream::findFirst).orElse(localRes.stackFrame()),
-                    new StackStepInfoWithCloseable<>(
-                        frame,
+                final var closeCallSite = tracer.isOff()
+                    ? CallSites.NONE
+                    : ResultOrError.WALKER.walk(Stream::findFirst).map(CallSites::intern).orElse(localRes.callSite());
+                localRes = tracer.step(
+                    closeCallSite,
+                    tracer.step(
+                        callSite,
                         localRes,
                         localCloseable,
                         localRes.output(),
                         localRes.output(),
-                        localRes.exception()
+                        localRes.exception(),
+                        null
                     ),
                     localCloseable,
                     localRes.output(),
                     localRes.output(),
-                    e
+                    e,
+                    null
                 );
             }
             return localRes;
         };
 
-        return new ResultOrError<>(wrapped);
+        return new ResultOrError<>(Stage.source(wrapped), tracer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StackStepInfoWithCloseable<C, T> evaluate() {
+        return (StackStepInfoWithCloseable<C, T>) Stage.run(stage, tracer);
     }
 }
@@ -0,0 +1,130 @@
+package org.xyp.functional.result.wrapper;
+
+import org.xyp.functional.result.ExceptionalFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * runs independent chains concurrently and joins them into one step, see {@link ResultOrError#zipAll(List, Executor)}<br/>
+ * every branch gets a step holding its trace as child, in the order of the branches, followed by the step combining
+ * their values. on the first failure the branches still running are cancelled, the step of the failing branch ends the
+ * trace. an {@link Error} thrown by a branch cancels them as well and is rethrown
+ */
+final class Zip {
+    private Zip() {
+    }
+
+    private record Branch(int index, Result<?, Exception> result) {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> StackStepInfo<R> run(
+        List<? extends ResultOrError<?>> branches,
+        ExceptionalFunction<Object[], ? extends R> combiner,
+        Executor executor,
+        int callSite,
+        Tracer tracer
+    ) {
+        final var count = branches.size();
+        final var results = new Result<?, ?>[count];
+        final var service = new ExecutorCompletionService<Branch>(executor);
+        final var futures = new ArrayList<Future<Branch>>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                final var index = i;
+                final ResultOrError<Object> branch = (ResultOrError<Object>) branches.get(i);
+                futures.add(service.submit(() -> new Branch(index, branch.toResult(branch.evaluate()))));
+            }
+            for (int i = 0; i < count; i++) {
+                final var done = take(service);
+                final Branch branch;
+                try {
+                    branch = done.get();
+                } catch (ExecutionException exception) {
+                    final var cause = exception.getCause();
+                    cancel(futures);
+                    if (cause instanceof Error error) {
+                        throw error;
+                    }
+                    return tracer.step(callSite, null, null, null, cause instanceof Exception e ? e : exception, null);
+                }
+                if (!branch.result().isSuccess()) {
+                    cancel(futures);
+                    return (StackStepInfo<R>) join(callSite, null, branch.result(), tracer);
+                }
+                results[branch.index()] = branch.result();
+            }
+        } catch (RejectedExecutionException exception) {
+            cancel(futures);
+            return tracer.step(callSite, null, null, null, exception, null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            return tracer.step(callSite, null, null, null, exception, null);
+        }
+
+        StackStepInfo<?> previous = null;
+        final var values = new Object[count];
+        var empty = false;
+        for (int i = 0; i < count; i++) {
+            previous = join(callSite, previous, results[i], tracer);
+            values[i] = results[i].get();
+            empty |= null == values[i];
+        }
+        if (empty) {
+            return tracer.step(callSite, previous, null, null, null, null);
+        }
+        try {
+            return tracer.step(callSite, previous, null, combiner.apply(values), null, null);
+        } catch (Exception exception) {
+            return tracer.step(callSite, previous, null, null, exception, null);
+        }
+    }
+
+    /**
+     * waits for the next task done as a {@link ForkJoinPool#managedBlock managed block}, so the pool of a caller
+     * running on it makes up for the blocked thread, nested zips and traversals on the common pool do not starve it
+     */
+    static <V> Future<V> take(CompletionService<V> service) throws InterruptedException {
+        final var blocker = new ForkJoinPool.ManagedBlocker() {
+            private Future<V> done;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if (null == done) {
+                    done = service.take();
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return null != done || null != (done = service.poll());
+            }
+        };
+        ForkJoinPool.managedBlock(blocker);
+        return blocker.done;
+    }
+
+    private static <T> StackStepInfo<T> join(int callSite, StackStepInfo<?> previous, Result<T, ?> result, Tracer tracer) {
+        final var child = ScopedTrace.childOf(result);
+        if (result instanceof Success<T, ?> success) {
+            return tracer.step(callSite, previous, null, success.value(), null, child);
+        }
+        return tracer.step(callSite, previous, null, null, result.getError(), child);
+    }
+
+    private static void cancel(List<Future<Branch>> futures) {
+        for (var future : futures) {
+            future.cancel(true);
+        }
+    }
+}
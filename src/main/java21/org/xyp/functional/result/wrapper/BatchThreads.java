@@ -0,0 +1,21 @@
+package org.xyp.functional.result.wrapper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * the threads a {@link ChainBatch} runs on: one virtual thread per chain, so blocking steps do not hold a platform
+ * thread while they wait
+ */
+final class BatchThreads {
+    private BatchThreads() {
+    }
+
+    static boolean isVirtual() {
+        return true;
+    }
+
+    static ExecutorService newExecutor(int tasks) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("result-batch-", 0).factory());
+    }
+}
@@ -0,0 +1,71 @@
+package org.xyp.functional.result.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xyp.functional.result.wrapper.EagerResultOrError;
+import org.xyp.functional.result.wrapper.IntResultOrError;
+import org.xyp.functional.result.wrapper.ResultOrError;
+import org.xyp.functional.result.wrapper.TraceMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the boxed chains against {@link IntResultOrError} on values outside the Integer cache,
+ * run with {@code -prof gc} to compare the allocation rates<br/>
+ * {@link EagerResultOrError} and {@link IntResultOrError} only capture the call site of a failing step, so they run in
+ * the given mode. a lazy {@link ResultOrError} captures the call site of each step as it is added, it runs with
+ * {@link TraceMode#OFF} to only compare the boxing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveChainBenchmark {
+
+    @Param({"OFF", "ERRORS_ONLY"})
+    public TraceMode mode;
+
+    public int price = 1999;
+
+    @Benchmark
+    public int lazy() {
+        return ResultOrError.of(TraceMode.OFF, price)
+            .map(p -> p * 3)
+            .filter(p -> p > 0)
+            .map(p -> p + 250)
+            .map(p -> p / 2)
+            .get();
+    }
+
+    @Benchmark
+    public int eager() {
+        return EagerResultOrError.of(mode, price)
+            .map(p -> p * 3)
+            .filter(p -> p > 0)
+            .map(p -> p + 250)
+            .map(p -> p / 2)
+            .get();
+    }
+
+    @Benchmark
+    public int primitive() {
+        return IntResultOrError.of(mode, price)
+            .map(p -> p * 3)
+            .filter(p -> p > 0)
+            .map(p -> p + 250)
+            .map(p -> p / 2)
+            .get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PrimitiveChainBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,83 @@
+package org.xyp.functional.result.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xyp.functional.result.wrapper.Failure;
+import org.xyp.functional.result.wrapper.Result;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * dispatch over a mix of successes and failures: the accessors and the {@code isInstance} predicate against
+ * {@link Result#fold(java.util.function.Function, java.util.function.Function)} and {@link Result#doIfError}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultDispatchBenchmark {
+
+    private static final Exception ERROR = new IllegalStateException("failed");
+
+    @Param({"10", "50"})
+    public int failurePercent;
+
+    private Result<Integer, Exception>[] results;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        results = (Result<Integer, Exception>[]) new Result<?, ?>[1024];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = random.nextInt(100) < failurePercent
+                ? Result.failure(ERROR, null)
+                : Result.success(i, null);
+        }
+    }
+
+    @Benchmark
+    public long accessors() {
+        long sum = 0;
+        for (var result : results) {
+            sum += result.isSuccess() ? result.get() : result.getOrFallBackForError(e -> -1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fold() {
+        long sum = 0;
+        for (var result : results) {
+            sum += result.fold(v -> v, e -> -1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void isInstancePredicate(Blackhole blackhole) {
+        for (var result : results) {
+            result.doIf(Failure.class::isInstance, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void doIfError(Blackhole blackhole) {
+        for (var result : results) {
+            result.doIfError(blackhole::consume);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ResultDispatchBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,56 @@
+package org.xyp.functional.result.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xyp.functional.result.wrapper.ResultOrError;
+import org.xyp.functional.result.wrapper.TraceMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFF should stay close to {@link #plainTryCatch()}, FULL shows the cost of the stack walk per step
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceModeBenchmark {
+
+    @Param({"OFF", "ERRORS_ONLY", "SAMPLED", "FULL"})
+    public TraceMode mode;
+
+    public int input = 17;
+
+    @Benchmark
+    public int plainTryCatch() {
+        try {
+            final var parsed = Integer.parseInt(String.valueOf(input));
+            if (parsed <= 0) {
+                return 0;
+            }
+            return parsed * 2 + 1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int chain() {
+        return ResultOrError.on(mode, () -> Integer.parseInt(String.valueOf(input)))
+            .filter(i -> i > 0)
+            .map(i -> i * 2)
+            .map(i -> i + 1)
+            .getOrSpecError(IllegalStateException.class, IllegalStateException::new);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TraceModeBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
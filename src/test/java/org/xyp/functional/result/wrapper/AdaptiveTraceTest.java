@@ -0,0 +1,81 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveTraceTest {
+
+    @BeforeEach
+    void setUp() {
+        TraceConfig.setAdaptiveTrace(0.2, 10);
+    }
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setAdaptiveTrace(0.05, 100);
+    }
+
+    static Result<Integer, Exception> divide(int divisor) {
+        return ResultOrError.on(TraceMode.ADAPTIVE, () -> divisor).map(i -> i + 1).map(i -> 10 / (i - 1)).getResult();
+    }
+
+    static void runs(int successes, int failures) {
+        for (int i = 0; i < successes; i++) {
+            Assertions.assertThat(divide(5).get()).isEqualTo(2);
+        }
+        for (int i = 0; i < failures; i++) {
+            Assertions.assertThat(divide(0).getError()).isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Test
+    void test1() {
+        runs(10, 0);
+
+        Assertions.assertThat(divide(5).getStackStepInfo()).isEmpty();
+        final var failing = divide(0).getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failing.input()).isEqualTo(1);
+        Assertions.assertThat(failing.previous().previous().renderOutput()).isEqualTo("<not retained>");
+    }
+
+    @Test
+    void test2() {
+        runs(5, 5);
+
+        final var trace = divide(5).getStackStepInfo().orElseThrow();
+        Assertions.assertThat(trace.previous().input()).isEqualTo(6);
+        Assertions.assertThat(trace.previous().previous().previous().output()).isEqualTo(5);
+
+        runs(9, 0);
+        Assertions.assertThat(divide(5).getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test3() {
+        final var pipeline = ResultPipeline.<Integer>start(TraceMode.ADAPTIVE).map(i -> 10 / i);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(pipeline.apply(0).isSuccess()).isFalse();
+        }
+
+        Assertions.assertThat(pipeline.apply(5).getStackStepInfo()).isPresent();
+        Assertions.assertThat(pipeline.withRetention(Retention.NONE).apply(5).getStackStepInfo().orElseThrow()
+            .renderInput()).isEqualTo("<not retained>");
+    }
+
+    @Test
+    void test4() {
+        var eager = EagerResultOrError.of(TraceMode.ADAPTIVE, 1).map(i -> i + 1);
+        Assertions.assertThat(eager.get()).isEqualTo(2);
+        Assertions.assertThat(eager.getResult().getStackStepInfo()).isEmpty();
+        Assertions.assertThat(AdaptiveSite.of(CallSites.NONE).isEscalated()).isFalse();
+    }
+
+    @Test
+    void test5() {
+        Assertions.assertThatThrownBy(() -> TraceConfig.setAdaptiveTrace(1, 10)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> TraceConfig.setAdaptiveTrace(Double.NaN, 10)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> TraceConfig.setAdaptiveTrace(0.1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,180 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class AsyncResultOrErrorTest {
+
+    static ExecutorService executor;
+
+    @BeforeAll
+    static void start() {
+        executor = Executors.newFixedThreadPool(4, runnable -> {
+            final var thread = new Thread(runnable, "async-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+    }
+
+    static List<StackStepInfo<?>> steps(StackStepInfo<?> last) {
+        final var steps = new ArrayList<StackStepInfo<?>>();
+        for (StackStepInfo<?> current = last; current != null; current = current.previous()) {
+            steps.add(0, current);
+        }
+        return steps;
+    }
+
+    @Test
+    void test1() throws Exception {
+        final var threads = ConcurrentHashMap.<String>newKeySet();
+        final var result = AsyncResultOrError.onAsync(TraceMode.FULL, executor, () -> {
+                threads.add(Thread.currentThread().getName());
+                return 20;
+            })
+            .mapAsync(i -> {
+                threads.add(Thread.currentThread().getName());
+                return i + 1;
+            })
+            .map(i -> i * 2)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.get()).isEqualTo(42);
+        Assertions.assertThat(threads).containsExactly("async-test");
+        final var steps = steps(result.getStackStepInfo().orElseThrow());
+        Assertions.assertThat(steps).hasSize(4);
+        Assertions.assertThat(steps).allMatch(step -> step.stackFrame().getClassName().equals(AsyncResultOrErrorTest.class.getName()));
+    }
+
+    @Test
+    void test2() throws Exception {
+        final var result = AsyncResultOrError.onAsync(TraceMode.FULL, executor, () -> "name")
+            .mapAsync(String::length)
+            .mapAsync(i -> {
+                if (i > 3) {
+                    throw new IOException("too long");
+                }
+                return i;
+            })
+            .map(i -> i * 2)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.getError()).isInstanceOf(IOException.class).hasMessage("too long");
+        final var steps = steps(result.getStackStepInfo().orElseThrow());
+        Assertions.assertThat(steps).hasSize(4);
+        Assertions.assertThat(steps.get(0).output()).isEqualTo("name");
+        Assertions.assertThat(steps.get(1).output()).isEqualTo(4);
+        Assertions.assertThat(steps.get(2).exception()).isInstanceOf(IOException.class);
+
+        final var errorsOnly = AsyncResultOrError.onAsync(TraceMode.ERRORS_ONLY, executor, () -> 1)
+            .mapAsync(i -> i + 1)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(errorsOnly.get()).isEqualTo(2);
+        Assertions.assertThat(errorsOnly.getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test3() throws Exception {
+        final var joined = AsyncResultOrError.of(TraceMode.FULL, 3)
+            .withExecutor(executor)
+            .flatMapAsync(i -> AsyncResultOrError.onAsync(TraceMode.FULL, executor, () -> i * 10).map(v -> v + 1))
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(joined.get()).isEqualTo(31);
+        final var join = joined.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(steps(join.child())).hasSize(2);
+
+        final var failed = AsyncResultOrError.of(TraceMode.FULL, 3)
+            .flatMapAsync(i -> AsyncResultOrError.<Integer>onAsync(TraceMode.FULL, executor, () -> {
+                throw new IOException("child");
+            }))
+            .map(i -> i + 1)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(failed.getError()).hasMessage("child");
+        final var failedJoin = failed.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failedJoin.child().exception()).hasMessage("child");
+
+        final var thrown = AsyncResultOrError.of(TraceMode.FULL, 3)
+            .<Integer>flatMapAsync(i -> {
+                throw new IllegalStateException("mapper");
+            })
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(thrown.getError()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void test4() throws Exception {
+        final var failed = AsyncResultOrError.from(
+                TraceMode.FULL,
+                CompletableFuture.<Integer>failedFuture(new IOException("remote")),
+                executor
+            )
+            .map(i -> i + 1);
+        Assertions.assertThat(failed.getResult().get(5, TimeUnit.SECONDS).getError()).hasMessage("remote");
+        Assertions.assertThatThrownBy(() -> failed.toCompletableFuture().get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+
+        final var rejected = AsyncResultOrError.of(TraceMode.FULL, 1)
+            .withExecutor(runnable -> {
+                throw new RejectedExecutionException("full");
+            })
+            .mapAsync(i -> i + 1)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(rejected.getError()).isInstanceOf(RejectedExecutionException.class);
+
+        final var rejectedStart = AsyncResultOrError.onAsync(TraceMode.FULL, runnable -> {
+                throw new RejectedExecutionException("closed");
+            }, () -> 1)
+            .map(i -> i + 1)
+            .getResult()
+            .get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(rejectedStart.getError()).isInstanceOf(RejectedExecutionException.class).hasMessage("closed");
+        Assertions.assertThat(rejectedStart.getStackStepInfo().orElseThrow().previous().exception())
+            .hasMessage("closed");
+
+        Assertions.assertThat(AsyncResultOrError.of(TraceMode.OFF, 5).filter(i -> i > 10).map(i -> i + 1)
+            .getResult().get(5, TimeUnit.SECONDS).getOption()).isEmpty();
+    }
+
+    @Test
+    void test5() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var future = AsyncResultOrError.onAsync(TraceMode.FULL, executor, () -> {
+                release.await();
+                return "done";
+            })
+            .map(String::toUpperCase)
+            .toCompletableFuture();
+
+        Assertions.assertThat(future).isNotDone();
+        release.countDown();
+        Assertions.assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("DONE");
+        Assertions.assertThat(future.isCompletedExceptionally()).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+class BoundedTraceTest {
+
+    @BeforeEach
+    void setUp() {
+        TraceConfig.setBoundedTrace(3, 5);
+    }
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setBoundedTrace(8, 32);
+    }
+
+    static ResultOrError<Integer> chain(int length) {
+        var chain = ResultOrError.of(TraceMode.BOUNDED, 0);
+        for (int i = 0; i < length; i++) {
+            chain = chain.map(v -> v + 1);
+        }
+        return chain;
+    }
+
+    static int count(StackStepInfo<?> last) {
+        var count = 0;
+        for (var current = last; current != null; current = current.previous()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void test1() {
+        final var result = chain(1000).getResult();
+        Assertions.assertThat(result.get()).isEqualTo(1000);
+
+        final var last = result.getStackStepInfo().orElseThrow();
+        // getResult, the last 5 steps, the skipped steps and the first 3 steps
+        Assertions.assertThat(count(last)).isEqualTo(10);
+        var current = last.previous();
+        for (int i = 1000; i > 995; i--) {
+            Assertions.assertThat(current.output()).isEqualTo(i);
+            current = current.previous();
+        }
+        Assertions.assertThat(current.skippedSteps()).isEqualTo(993);
+        Assertions.assertThat(current.previous().output()).isEqualTo(2);
+        Assertions.assertThat(current.previous().previous().previous().output()).isEqualTo(0);
+    }
+
+    @Test
+    void test2() {
+        final var result = chain(100).map(v -> v / 0).getResult();
+
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        final var failing = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failing.isError()).isTrue();
+        Assertions.assertThat(failing.input()).isEqualTo(100);
+        Assertions.assertThat(failing.previous().output()).isEqualTo(100);
+
+        final var logs = new ArrayList<String>();
+        result.traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString().contains("... 94 steps skipped ...");
+    }
+
+    @Test
+    void test3() {
+        final var result = chain(4).getResult();
+
+        Assertions.assertThat(count(result.getStackStepInfo().orElseThrow())).isEqualTo(6);
+        Assertions.assertThat(result.get()).isEqualTo(4);
+    }
+
+    @Test
+    void test4() {
+        final var result = ResultOrError.of(TraceMode.BOUNDED, 1)
+            .flatMap(i -> chain(50))
+            .map(v -> v + 1)
+            .getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(51);
+        final var flatMapStep = result.getStackStepInfo().orElseThrow().previous().previous();
+        Assertions.assertThat(flatMapStep.output()).isEqualTo(50);
+        Assertions.assertThat(count(flatMapStep.getChild().orElseThrow())).isEqualTo(9);
+    }
+
+    @Test
+    void test5() {
+        final var closeable = new WithCloseableTest.MockCloseable();
+        var chain = WithCloseable.open(TraceMode.BOUNDED, () -> closeable).map(c -> 0);
+        for (int i = 0; i < 100; i++) {
+            chain = chain.map(v -> v + 1);
+        }
+        final var result = chain.closeAndGetResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(100);
+        Assertions.assertThat(closeable.isClosed()).isTrue();
+        Assertions.assertThat(count(result.getStackStepInfo().orElseThrow())).isLessThanOrEqualTo(12);
+    }
+
+    @Test
+    void test6() {
+        Assertions.assertThatThrownBy(() -> TraceConfig.setBoundedTrace(-1, 5)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> TraceConfig.setBoundedTrace(3, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
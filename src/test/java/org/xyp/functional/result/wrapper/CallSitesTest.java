@@ -0,0 +1,152 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.xyp.functional.result.Fun;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+class CallSitesTest {
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setCallSiteCapture(CallSiteCapture.STACK_WALK);
+    }
+
+    @Test
+    void test1() {
+        final var ids = new HashSet<Integer>();
+        for (int i = 0; i < 10; i++) {
+            ResultOrError.of(i).map(v -> v + 1).getResult().getStackStepInfo()
+                .ifPresent(stack -> ids.add(stack.previous().callSite()));
+        }
+        Assertions.assertThat(ids).hasSize(1);
+        Assertions.assertThat(ids.iterator().next()).isNotNegative();
+    }
+
+    @Test
+    void test2() {
+        final var sizeBefore = CallSites.size();
+        for (int i = 0; i < 10; i++) {
+            ResultOrError.of(i).map(v -> v + 1).filter(v -> v > 0).getResult();
+        }
+        // of, map, filter and getResult
+        Assertions.assertThat(CallSites.size() - sizeBefore).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void test3() {
+        final var stack = ResultOrError.of(1).map(v -> v + 1).getResult().getStackStepInfo().orElseThrow();
+        StackStepInfo<?> current = stack;
+        while (current != null) {
+            Assertions.assertThat(CallSites.render(current.callSite()))
+                .isEqualTo(String.valueOf(current.stackFrame()))
+                .contains("CallSitesTest.test3(CallSitesTest.java:");
+            current = current.previous();
+        }
+        Assertions.assertThat(CallSites.render(CallSites.NONE)).isEqualTo("null");
+        Assertions.assertThat(CallSites.frame(CallSites.NONE)).isNull();
+    }
+
+    static String renderTrace(Result<?, ?> result) {
+        final var sb = new StringBuilder();
+        StackLogUtil.logTrace(sb::append, result.getStackStepInfo().orElse(null));
+        return sb.toString();
+    }
+
+    static Result<Integer, Exception> chain(int i) {
+        return ResultOrError.on(() -> i)
+            .map(v -> v + 1)
+            .filter(v -> v > 0)
+            .consume(v -> {
+            })
+            .flatMap(v -> ResultOrError.of(v * 2))
+            .getResult();
+    }
+
+    @Test
+    void test4() {
+        final var walked = renderTrace(chain(1));
+        TraceConfig.setCallSiteCapture(CallSiteCapture.PER_FUNCTION);
+        Assertions.assertThat(renderTrace(chain(1))).isEqualTo(walked);
+        Assertions.assertThat(renderTrace(chain(1))).isEqualTo(walked);
+    }
+
+    @Test
+    void test5() {
+        TraceConfig.setCallSiteCapture(CallSiteCapture.PER_FUNCTION);
+        // the library's own wrapping lambdas are shared by both steps, they must still be told apart
+        final var stack = ResultOrError.of(new ValueHolder<>(1))
+            .map(Fun.updateSelf(h -> h.setValue(2)))
+            .map(Fun.updateSelf(h -> h.setValue(3)))
+            .noExMap(ValueHolder::value)
+            .noExMap(v -> v + 1)
+            .getResult()
+            .getStackStepInfo()
+            .orElseThrow();
+        final var ids = new HashSet<Integer>();
+        StackStepInfo<?> current = stack;
+        while (current != null) {
+            ids.add(current.callSite());
+            current = current.previous();
+        }
+        Assertions.assertThat(ids).hasSize(6);
+    }
+
+    public static final class Site {
+        public static StackStepInfo<?> run() {
+            return ResultOrError.of(1).map(v -> v + 1).getResult().getStackStepInfo().orElseThrow().previous();
+        }
+    }
+
+    /**
+     * loads its own copy of {@link Site}, of the same name
+     */
+    static final class Isolated extends ClassLoader {
+        Isolated() {
+            super(CallSitesTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Site.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                final var loaded = findLoadedClass(name);
+                if (null != loaded) {
+                    return loaded;
+                }
+                try (var in = getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    final var bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException exception) {
+                    throw new ClassNotFoundException(name, exception);
+                }
+            }
+        }
+    }
+
+    @Test
+    void test6() throws Exception {
+        final var own = Site.run();
+        final var isolated = (StackStepInfo<?>) new Isolated().loadClass(Site.class.getName()).getMethod("run").invoke(null);
+
+        Assertions.assertThat(own.stackFrame().getClassName()).isEqualTo(isolated.stackFrame().getClassName());
+        Assertions.assertThat(own.callSite()).isNotEqualTo(isolated.callSite());
+        Assertions.assertThat(CallSites.render(own.callSite())).isEqualTo(CallSites.render(isolated.callSite()));
+        Assertions.assertThat(own.stackFrame().getMethodName()).isEqualTo("run");
+        Assertions.assertThatThrownBy(() -> own.stackFrame().getDeclaringClass())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void test7() {
+        Assertions.assertThat(ResultOrError.isLibraryClass(Fun.class.getName())).isTrue();
+        Assertions.assertThat(ResultOrError.isLibraryClass(EagerResultOrError.class.getName())).isTrue();
+        Assertions.assertThat(ResultOrError.isLibraryClass(CallSitesTest.class.getName())).isFalse();
+        Assertions.assertThat(ResultOrError.isLibraryClass("shaded.org.xyp.functional.result.Fun")).isFalse();
+    }
+}
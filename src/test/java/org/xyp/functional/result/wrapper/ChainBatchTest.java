@@ -0,0 +1,120 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+class ChainBatchTest {
+
+    @Test
+    void test1() {
+        final var chains = new ArrayList<ResultOrError<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            final var value = i;
+            chains.add(ResultOrError.of(TraceMode.FULL, value).map(v -> v * 2));
+        }
+
+        final var results = ChainBatch.getResults(chains);
+
+        Assertions.assertThat(results).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(results.get(i).get()).isEqualTo(i * 2);
+        }
+        Assertions.assertThat(ChainBatch.getResults(List.<ResultOrError<Integer>>of())).isEmpty();
+    }
+
+    @Test
+    void test2() {
+        final var parties = 16;
+        final var started = new CountDownLatch(parties);
+        final var chains = new ArrayList<ResultOrError<Boolean>>();
+        for (int i = 0; i < parties; i++) {
+            chains.add(ResultOrError.on(TraceMode.OFF, () -> {
+                started.countDown();
+                return started.await(5, TimeUnit.SECONDS);
+            }));
+        }
+
+        Assertions.assertThat(ChainBatch.getResults(chains)).allMatch(result -> result.get());
+    }
+
+    @Test
+    void test3() {
+        final var closed = new ArrayList<String>();
+        final List<Supplier<Result<String, Exception>>> chains = List.of(
+            WithCloseable.open(() -> (AutoCloseable) () -> closed.add("first"))
+                .map(c -> "opened")::closeAndGetResult,
+            ResultOrError.<String>on(TraceMode.FULL, () -> {
+                throw new IOException("io");
+            })::getResult,
+            () -> {
+                throw new IllegalStateException("outside");
+            }
+        );
+
+        final var results = ChainBatch.run(chains);
+
+        Assertions.assertThat(results.get(0).get()).isEqualTo("opened");
+        Assertions.assertThat(closed).containsExactly("first");
+        Assertions.assertThat(results.get(1).getError()).isInstanceOf(IOException.class);
+        Assertions.assertThat(results.get(1).getStackStepInfo()).isPresent();
+        Assertions.assertThat(results.get(2).getError()).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(results.get(2).getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test4() {
+        final var release = new CountDownLatch(1);
+        final List<Supplier<Result<String, Exception>>> chains = List.of(
+            ResultOrError.on(TraceMode.OFF, () -> {
+                release.await();
+                return "late";
+            })::getResult
+        );
+
+        Thread.currentThread().interrupt();
+        final var results = ChainBatch.run(chains);
+
+        Assertions.assertThat(Thread.interrupted()).isTrue();
+        Assertions.assertThat(results).singleElement().satisfies(result ->
+            Assertions.assertThat(result.getError()).isInstanceOf(InterruptedException.class));
+        release.countDown();
+    }
+
+    @Test
+    void test5() throws InterruptedException {
+        final var started = new CountDownLatch(1);
+        final var interrupted = new CountDownLatch(1);
+        final List<Supplier<Result<String, Exception>>> chains = List.of(
+            () -> {
+                try {
+                    started.await();
+                } catch (InterruptedException exception) {
+                    throw new IllegalStateException(exception);
+                }
+                throw new AssertionError("broken");
+            },
+            ResultOrError.on(TraceMode.OFF, () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException exception) {
+                    interrupted.countDown();
+                    throw exception;
+                }
+                return "late";
+            })::getResult
+        );
+
+        Assertions.assertThatThrownBy(() -> ChainBatch.run(chains))
+            .isInstanceOf(AssertionError.class)
+            .hasMessage("broken");
+        Assertions.assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,104 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class EagerResultOrErrorTest {
+
+    @Test
+    void test1() {
+        final var counter = new AtomicInteger();
+        final var eager = EagerResultOrError.on(counter::incrementAndGet)
+            .map(i -> i * 10)
+            .filter(i -> i > 5);
+
+        Assertions.assertThat(counter.get()).isOne();
+        Assertions.assertThat(eager.get()).isEqualTo(10);
+        Assertions.assertThat(eager.get()).isEqualTo(10);
+        Assertions.assertThat(counter.get()).isOne();
+    }
+
+    @Test
+    void test2() {
+        final var counter = new AtomicInteger();
+        final var failed = EagerResultOrError.of(1)
+            .map(i -> i / 0);
+        final var after = failed
+            .map(i -> counter.incrementAndGet())
+            .filter(i -> counter.incrementAndGet() > 0)
+            .flatMap(i -> EagerResultOrError.of(counter.incrementAndGet()));
+
+        Assertions.assertThat(after).isSameAs(failed);
+        Assertions.assertThat(counter.get()).isZero();
+        Assertions.assertThatThrownBy(after::get).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThatThrownBy(() -> after.getOrSpecError(IllegalStateException.class, IllegalStateException::new))
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(after.mapOnError(e -> -1).get()).isEqualTo(-1);
+    }
+
+    @Test
+    void test3() {
+        final var result = EagerResultOrError.of(TraceMode.FULL, 1)
+            .flatMap(i -> EagerResultOrError.of(i + 1).map(v -> v * 10))
+            .getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(20);
+        final var flatMapStep = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(flatMapStep.getChild()).isNotEmpty();
+        Assertions.assertThat(flatMapStep.getChild().orElseThrow().output()).isEqualTo(20);
+        Assertions.assertThat(flatMapStep.stackFrame().getClassName()).isEqualTo(EagerResultOrErrorTest.class.getName());
+    }
+
+    @Test
+    void test4() {
+        final var lazy = ResultOrError.of(2).map(i -> i * 2).getResult();
+        final var result = EagerResultOrError.from(lazy)
+            .map(i -> i + 1)
+            .getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(5);
+        Assertions.assertThat(result.getStackStepInfo().orElseThrow().previous().previous().previous())
+            .isSameAs(lazy.getStackStepInfo().orElseThrow());
+
+        final var failure = EagerResultOrError.from(ResultOrError.on(() -> {
+            throw new ValidateException("invalid");
+        }).getResult());
+        Assertions.assertThat(failure.getResult().getError()).isInstanceOf(ValidateException.class);
+    }
+
+    @Test
+    void test5() {
+        final var result = EagerResultOrError.of(TraceMode.OFF, 1)
+            .map(i -> i + 1)
+            .continueWithOptional()
+            .getResult();
+
+        Assertions.assertThat(result.get()).contains(2);
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test6() {
+        final var result = EagerResultOrError.of(TraceMode.ERRORS_ONLY, 7)
+            .map(i -> i + 1)
+            .map(i -> i / 0)
+            .map(i -> i + 1)
+            .getResult();
+
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        final var failing = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failing.input()).isEqualTo(8);
+        Assertions.assertThat(failing.stackFrame().getMethodName()).isEqualTo("test6");
+        Assertions.assertThat(failing.previous()).isNull();
+
+        final var failedSource = EagerResultOrError.on(TraceMode.ERRORS_ONLY, () -> {
+            throw new ValidateException("invalid");
+        }).getResult();
+        Assertions.assertThat(failedSource.getStackStepInfo().orElseThrow().previous().stackFrame().getMethodName())
+            .isEqualTo("test6");
+        Assertions.assertThat(EagerResultOrError.of(TraceMode.ERRORS_ONLY, 7).map(i -> i + 1).get()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,105 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.xyp.functional.result.FunctionException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+
+class ErrorMappingsTest {
+
+    static class NotFound extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFound(String message) {
+            super(message);
+        }
+    }
+
+    @AfterEach
+    void reset() {
+        ErrorMappings.clear();
+    }
+
+    static Result<String, Exception> failed(Exception exception) {
+        return ResultOrError.<String>on(TraceMode.FULL, () -> {
+            throw exception;
+        }).getResult();
+    }
+
+    @Test
+    void test1() {
+        Assertions.assertThatThrownBy(failed(new IOException("io"))::get).isExactlyInstanceOf(FunctionException.class);
+
+        ErrorMappings.translate(IOException.class, e -> new UncheckedIOException(e));
+        ErrorMappings.translate(FileNotFoundException.class, e -> new NotFound(e.getMessage()));
+
+        Assertions.assertThatThrownBy(failed(new IOException("io"))::get).isExactlyInstanceOf(UncheckedIOException.class);
+        Assertions.assertThatThrownBy(failed(new FileNotFoundException("file"))::getOption)
+            .isExactlyInstanceOf(NotFound.class)
+            .hasMessage("file");
+        Assertions.assertThatThrownBy(failed(new java.nio.file.NoSuchFileException("path"))::get)
+            .isExactlyInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void test2() {
+        ErrorMappings.translate(FileNotFoundException.class, e -> new NotFound(e.getMessage()));
+
+        final var wrapped = new ExecutionException(new IllegalStateException(new FileNotFoundException("deep")));
+        Assertions.assertThatThrownBy(failed(wrapped)::get).isExactlyInstanceOf(NotFound.class).hasMessage("deep");
+
+        final var runtime = new IllegalArgumentException("kept");
+        Assertions.assertThatThrownBy(failed(runtime)::get).isSameAs(runtime);
+    }
+
+    @Test
+    void test3() {
+        ErrorMappings.translate(IOException.class, UncheckedIOException::new);
+
+        final var mapped = failed(new IOException("io")).mapError();
+        Assertions.assertThat(mapped.getError()).isInstanceOf(UncheckedIOException.class);
+        Assertions.assertThat(mapped.getStackStepInfo()).isPresent();
+        Assertions.assertThat(failed(new InterruptedException()).mapError().getError()).isExactlyInstanceOf(FunctionException.class);
+        Assertions.assertThat(Result.<String, Exception>success("ok", null).mapError().get()).isEqualTo("ok");
+
+        final Result<String, RuntimeException> rejection = Result.<String, Integer, Exception>rejection(404, code -> new IOException("status " + code))
+            .mapError();
+        Assertions.assertThat(rejection.getError()).isInstanceOf(UncheckedIOException.class).hasMessageContaining("status 404");
+    }
+
+    @Test
+    void test4() {
+        ErrorMappings.recover(FileNotFoundException.class, String.class, e -> "default");
+        ErrorMappings.recover(IOException.class, Integer.class, e -> -1);
+
+        Assertions.assertThat(failed(new FileNotFoundException()).getOrRecover(String.class)).isEqualTo("default");
+        Assertions.assertThatThrownBy(() -> ResultOrError.of(TraceMode.OFF, "name").map(s -> s.length() / 0).getOrRecover(Integer.class))
+            .isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(ResultOrError.on(TraceMode.OFF, () -> 3).getOrRecover(Integer.class)).isEqualTo(3);
+        Assertions.assertThat(EagerResultOrError.<Integer>on(TraceMode.OFF, () -> {
+            throw new FileNotFoundException();
+        }).getOrRecover(Integer.class)).isEqualTo(-1);
+        Assertions.assertThat(failed(new ExecutionException(new FileNotFoundException())).getOrRecover(String.class))
+            .isEqualTo("default");
+    }
+
+    @Test
+    void test5() {
+        Assertions.assertThatThrownBy(() -> failed(new IOException("io")).getOrRecover(String.class))
+            .isExactlyInstanceOf(FunctionException.class);
+
+        ErrorMappings.translate(IOException.class, UncheckedIOException::new);
+        Assertions.assertThatThrownBy(() -> failed(new IOException("io")).getOrRecover(String.class))
+            .isExactlyInstanceOf(UncheckedIOException.class);
+
+        ErrorMappings.clear();
+        Assertions.assertThatThrownBy(failed(new IOException("io"))::get).isExactlyInstanceOf(FunctionException.class);
+        Assertions.assertThatThrownBy(() -> ErrorMappings.translate((Class<IOException>) null, UncheckedIOException::new))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
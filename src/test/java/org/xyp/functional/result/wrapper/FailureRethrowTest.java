@@ -0,0 +1,133 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.xyp.functional.result.FunctionException;
+
+import java.io.IOException;
+
+class FailureRethrowTest {
+
+    static final IOException ERROR = new IOException("broken");
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setFailureRethrow(FailureRethrow.WRAP);
+    }
+
+    static Result<Integer, Exception> failed(TraceMode mode) {
+        return ResultOrError.of(mode, 1)
+            .map(i -> i + 1)
+            .map(i -> {
+                if (i > 1) {
+                    throw ERROR;
+                }
+                return i;
+            })
+            .map(i -> i * 2)
+            .getResult();
+    }
+
+    @Test
+    void test1() {
+        final var result = failed(TraceMode.FULL);
+
+        Assertions.assertThatThrownBy(result::get)
+            .isExactlyInstanceOf(FunctionException.class)
+            .hasCause(ERROR)
+            .satisfies(e -> Assertions.assertThat(e.getStackTrace()).anyMatch(element ->
+                element.getClassName().startsWith("org.junit")));
+    }
+
+    @Test
+    void test2() {
+        TraceConfig.setFailureRethrow(FailureRethrow.TRACE);
+        final var result = failed(TraceMode.FULL);
+
+        Assertions.assertThatThrownBy(result::get)
+            .isInstanceOf(TracedFunctionException.class)
+            .isInstanceOf(FunctionException.class)
+            .hasCause(ERROR)
+            .satisfies(e -> {
+                final var stackTrace = e.getStackTrace();
+                Assertions.assertThat(stackTrace).hasSize(4);
+                Assertions.assertThat(stackTrace).allMatch(element ->
+                    element.getClassName().equals(FailureRethrowTest.class.getName()));
+                Assertions.assertThat(stackTrace[0].getLineNumber()).isGreaterThan(stackTrace[3].getLineNumber());
+                Assertions.assertThat(((TracedFunctionException) e).getStackStepInfo()).containsSame(result.getStackStepInfo().orElseThrow());
+            });
+        Assertions.assertThatThrownBy(result::getOption).isInstanceOf(TracedFunctionException.class);
+    }
+
+    @Test
+    void test3() {
+        TraceConfig.setFailureRethrow(FailureRethrow.ORIGINAL);
+
+        Assertions.assertThatThrownBy(failed(TraceMode.FULL)::get).isSameAs(ERROR);
+        Assertions.assertThatThrownBy(failed(TraceMode.OFF)::getOption).isSameAs(ERROR);
+        Assertions.assertThatThrownBy(() -> IntResultOrError.on(TraceMode.OFF, () -> {
+            throw ERROR;
+        }).getResult().getAsInt()).isSameAs(ERROR);
+    }
+
+    @Test
+    void test4() {
+        final var runtime = new IllegalStateException("runtime");
+        for (var rethrow : FailureRethrow.values()) {
+            TraceConfig.setFailureRethrow(rethrow);
+            final var result = ResultOrError.on(TraceMode.FULL, () -> {
+                throw runtime;
+            }).getResult();
+            Assertions.assertThatThrownBy(result::get).isSameAs(runtime);
+            Assertions.assertThatThrownBy(() -> LongResultOrError.of(TraceMode.OFF, 1L).map(l -> {
+                throw runtime;
+            }).getResult().getOption()).isSameAs(runtime);
+        }
+    }
+
+    @Test
+    void test5() {
+        final var traced = failed(TraceMode.ERRORS_ONLY);
+        Assertions.assertThatThrownBy(() -> traced.getOrSpecErrorBy(TracedFunctionException.class, TracedFunctionException::of))
+            .isInstanceOf(TracedFunctionException.class)
+            .hasCause(ERROR)
+            .satisfies(e -> Assertions.assertThat(e.getStackTrace()).hasSize(2));
+
+        final var untraced = failed(TraceMode.OFF);
+        Assertions.assertThatThrownBy(() -> untraced.getOrSpecErrorBy(TracedFunctionException.class, TracedFunctionException::of))
+            .isInstanceOf(TracedFunctionException.class)
+            .satisfies(e -> {
+                Assertions.assertThat(e.getStackTrace()).isEmpty();
+                Assertions.assertThat(((TracedFunctionException) e).getStackStepInfo()).isEmpty();
+            });
+
+        TraceConfig.setFailureRethrow(FailureRethrow.TRACE);
+        Assertions.assertThatThrownBy(() -> DoubleResultOrError.of(TraceMode.FULL, 1.0).map(d -> {
+            throw ERROR;
+        }).getResult().getAsDouble()).isInstanceOf(TracedFunctionException.class).hasCause(ERROR);
+    }
+
+    @Test
+    void test6() {
+        Assertions.assertThatThrownBy(() -> TraceConfig.setFailureRethrow(null))
+            .isInstanceOf(NullPointerException.class);
+        Assertions.assertThat(TraceConfig.getFailureRethrow()).isEqualTo(FailureRethrow.WRAP);
+    }
+
+    @Test
+    void test7() {
+        TraceConfig.setFailureRethrow(FailureRethrow.TRACE);
+        final var thrown = TraceArena.scoped(() -> {
+            final var result = failed(TraceMode.FULL);
+            Assertions.assertThat(((Failure<Integer, Exception>) result).trace()).isInstanceOf(ScopedTrace.class);
+            return Assertions.catchThrowableOfType(TracedFunctionException.class, result::get);
+        });
+        TraceArena.scoped(() -> failed(TraceMode.FULL).isSuccess());
+
+        final var trace = thrown.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(trace).isNotInstanceOf(ScopedTrace.class).isNotInstanceOf(PooledStep.class);
+        Assertions.assertThat(trace.previous().exception()).isSameAs(ERROR);
+        Assertions.assertThat(thrown.getStackTrace()).hasSize(4);
+    }
+}
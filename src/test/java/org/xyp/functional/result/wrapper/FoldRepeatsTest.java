@@ -0,0 +1,103 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+class FoldRepeatsTest {
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setFoldRepeats(false);
+    }
+
+    static ResultOrError<Integer> chain(TraceMode mode, int length) {
+        var chain = ResultOrError.of(mode, 0);
+        for (int i = 0; i < length; i++) {
+            chain = chain.map(v -> v == 500 ? v / 0 : v + 1);
+        }
+        return chain;
+    }
+
+    @Test
+    void test1() {
+        final var result = chain(TraceMode.FULL, 400).withRepeatFolding(true).getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(400);
+        final var folded = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(folded.repeatCount()).isEqualTo(400);
+        Assertions.assertThat(folded.input()).isEqualTo(0);
+        Assertions.assertThat(folded.firstOutput()).isEqualTo(1);
+        Assertions.assertThat(folded.lastInput()).isEqualTo(399);
+        Assertions.assertThat(folded.output()).isEqualTo(400);
+        Assertions.assertThat(folded.previous().repeatCount()).isOne();
+        Assertions.assertThat(folded.previous().previous()).isNull();
+
+        final var logs = new ArrayList<String>();
+        result.traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString()
+            .contains("(x400)")
+            .contains("->: 0 ... 399")
+            .contains("<-: 1 ... 400");
+    }
+
+    @Test
+    void test2() {
+        final var result = chain(TraceMode.FULL, 1000).withRepeatFolding(true).getResult();
+
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        final var folded = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(folded.repeatCount()).isEqualTo(501);
+        Assertions.assertThat(folded.exception()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(folded.lastInput()).isEqualTo(500);
+        Assertions.assertThat(folded.output()).isNull();
+    }
+
+    @Test
+    void test3() {
+        TraceConfig.setFoldRepeats(true);
+        TraceConfig.setBoundedTrace(2, 2);
+        try {
+            final var result = chain(TraceMode.BOUNDED, 300).getResult();
+            Assertions.assertThat(result.get()).isEqualTo(300);
+            final var folded = result.getStackStepInfo().orElseThrow().previous();
+            Assertions.assertThat(folded.repeatCount()).isEqualTo(300);
+            Assertions.assertThat(folded.previous().output()).isEqualTo(0);
+        } finally {
+            TraceConfig.setBoundedTrace(8, 32);
+        }
+    }
+
+    @Test
+    void test4() {
+        var chain = ResultOrError.of(TraceMode.FULL, 0).withRepeatFolding(true);
+        for (int i = 0; i < 3; i++) {
+            chain = chain.map(v -> v + 1).map(v -> v * 2);
+        }
+        final var result = chain.getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(14);
+        var count = 0;
+        for (StackStepInfo<?> current = result.getStackStepInfo().orElseThrow(); current != null; current = current.previous()) {
+            Assertions.assertThat(current.repeatCount()).isOne();
+            count++;
+        }
+        Assertions.assertThat(count).isEqualTo(8);
+    }
+
+    @Test
+    void test5() {
+        final var result = chain(TraceMode.FULL, 10).getResult();
+
+        Assertions.assertThat(result.getStackStepInfo().orElseThrow().previous().repeatCount()).isOne();
+
+        final var eager = EagerResultOrError.of(TraceMode.FULL, 0).withRepeatFolding(true);
+        var current = eager;
+        for (int i = 0; i < 10; i++) {
+            current = current.map(v -> v + 1);
+        }
+        Assertions.assertThat(current.getResult().getStackStepInfo().orElseThrow().previous().repeatCount()).isEqualTo(10);
+    }
+}
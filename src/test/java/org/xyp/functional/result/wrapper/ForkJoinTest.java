@@ -0,0 +1,124 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ForkJoinTest {
+
+    record Node(int value, List<Node> children) {
+    }
+
+    static Node tree(int depth) {
+        final var children = new ArrayList<Node>();
+        if (depth > 0) {
+            for (int i = 0; i < 3; i++) {
+                children.add(tree(depth - 1));
+            }
+        }
+        return new Node(1, children);
+    }
+
+    static List<Integer> range(int size) {
+        final var items = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    @Test
+    void test1() {
+        final var sum = ResultOrError.<Integer, Long>forkJoin(range(10_000), list -> {
+            long total = 0;
+            for (var i : list) {
+                total += i;
+            }
+            return total;
+        }, Long::sum, 100).map(total -> total * 2).get();
+
+        Assertions.assertThat(sum).isEqualTo(9_999L * 10_000L);
+        Assertions.assertThat(ResultOrError.<Integer, Integer>forkJoin(List.of(), List::size, Integer::sum, 1).get())
+            .isZero();
+    }
+
+    @Test
+    void test2() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            final var count = ResultOrError.<Node, Integer>forkJoin(
+                tree(6),
+                Node::children,
+                node -> node.children().isEmpty() ? node.value() : node.value() + node.children().size(),
+                Integer::sum,
+                node -> node.children().size() <= 1,
+                pool
+            ).get();
+
+            Assertions.assertThat(count).isEqualTo(729);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void test3() {
+        final var leaves = new AtomicInteger();
+        final var result = ResultOrError.<Integer, Integer>forkJoin(range(100_000), list -> {
+            leaves.incrementAndGet();
+            if (list.contains(500)) {
+                throw new IOException("leaf");
+            }
+            Thread.sleep(1);
+            return list.size();
+        }, Integer::sum, 10).getResult();
+
+        Assertions.assertThat(result.getError()).isInstanceOf(IOException.class).hasMessage("leaf");
+        Assertions.assertThat(leaves.get()).isLessThan(10_000);
+        final var step = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(step.previous()).isNull();
+        Assertions.assertThat(((List<?>) step.child().input()).contains(500)).isTrue();
+        Assertions.assertThat(step.child().exception()).hasMessage("leaf");
+    }
+
+    @Test
+    void test4() {
+        final var splitFailed = ResultOrError.<Integer, Integer>forkJoin(8, n -> {
+            if (n == 2) {
+                throw new IllegalStateException("split " + n);
+            }
+            return List.of(n / 2, n / 2);
+        }, n -> n, Integer::sum, n -> n < 1).getResult();
+        Assertions.assertThat(splitFailed.getError()).hasMessage("split 2");
+        Assertions.assertThat(splitFailed.getStackStepInfo().orElseThrow().previous().child().input()).isEqualTo(2);
+
+        final var combineFailed = ResultOrError.<Integer, Integer>forkJoin(range(8), List::size, (a, b) -> a / (b - 4), 4)
+            .getResult();
+        Assertions.assertThat(combineFailed.getError()).isInstanceOf(ArithmeticException.class);
+
+        final var single = ResultOrError.<Integer, Integer>forkJoin(5, n -> List.of(n), n -> n * 3, Integer::sum, n -> false)
+            .get();
+        Assertions.assertThat(single).isEqualTo(15);
+    }
+
+    @Test
+    void test5() {
+        final var runs = new AtomicInteger();
+        final var chain = ResultOrError.<Integer, Integer>forkJoin(range(64), list -> {
+            runs.incrementAndGet();
+            return list.size();
+        }, Integer::sum, 8);
+
+        Assertions.assertThat(runs).hasValue(0);
+        Assertions.assertThat(chain.get()).isEqualTo(64);
+        Assertions.assertThat(chain.get()).isEqualTo(64);
+        Assertions.assertThat(runs).hasValue(16);
+        Assertions.assertThatThrownBy(() -> ResultOrError.<Integer, Integer>forkJoin(range(4), List::size, Integer::sum, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LongChainTest {
+
+    static final int LENGTH = 100_000;
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setCallSiteCapture(CallSiteCapture.STACK_WALK);
+    }
+
+    @Test
+    void test1() {
+        var chain = ResultOrError.of(TraceMode.OFF, 0);
+        for (int i = 0; i < LENGTH; i++) {
+            chain = chain.map(v -> v + 1);
+        }
+        Assertions.assertThat(chain.get()).isEqualTo(LENGTH);
+    }
+
+    @Test
+    void test2() {
+        TraceConfig.setCallSiteCapture(CallSiteCapture.PER_FUNCTION);
+        var chain = ResultOrError.of(0);
+        for (int i = 0; i < LENGTH; i++) {
+            chain = chain.map(v -> v + 1).filter(v -> v > 0);
+        }
+        final var result = chain.map(v -> v / 0).getResult();
+        Assertions.assertThat(result.isSuccess()).isFalse();
+
+        int count = 0;
+        StackStepInfo<?> current = result.getStackStepInfo().orElseThrow();
+        while (current != null) {
+            count++;
+            current = current.previous();
+        }
+        // of, every map, the failing map and getResult
+        Assertions.assertThat(count).isEqualTo(LENGTH + 3);
+    }
+
+    static ResultOrError<Integer> countDown(int n) {
+        return ResultOrError.of(TraceMode.OFF, n)
+            .flatMap(i -> i == 0 ? ResultOrError.of(TraceMode.OFF, 0) : countDown(i - 1).map(v -> v + 1));
+    }
+
+    @Test
+    void test3() {
+        Assertions.assertThat(countDown(LENGTH).get()).isEqualTo(LENGTH);
+    }
+
+    @Test
+    void test4() {
+        var chain = WithCloseable.open(TraceMode.OFF, WithCloseableTest.MockCloseable::new).map(c -> 0);
+        for (int i = 0; i < LENGTH; i++) {
+            chain = chain.map(v -> v + 1);
+        }
+        Assertions.assertThat(chain.closeAndGet()).isEqualTo(LENGTH);
+    }
+}
@@ -0,0 +1,152 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MemoizeTest {
+
+    @Test
+    void test1() {
+        final var counter = new AtomicInteger();
+        final var lazy = ResultOrError.on(counter::incrementAndGet)
+            .map(i -> i * 10)
+            .memoize();
+
+        Assertions.assertThat(lazy.get()).isEqualTo(10);
+        Assertions.assertThat(lazy.getOption()).contains(10);
+        Assertions.assertThat(lazy.getResult().isSuccess()).isTrue();
+        Assertions.assertThat(lazy.map(i -> i + 1).get()).isEqualTo(11);
+        Assertions.assertThat(counter.get()).isOne();
+    }
+
+    @Test
+    void test2() {
+        final var counter = new AtomicInteger();
+        final var lazy = ResultOrError.on(counter::incrementAndGet)
+            .map(i -> i / 0)
+            .memoize();
+
+        Assertions.assertThatThrownBy(lazy::get).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(lazy.getResult().isSuccess()).isFalse();
+        Assertions.assertThat(lazy.getResult().getStackStepInfo()).isNotEmpty();
+        Assertions.assertThat(counter.get()).isOne();
+    }
+
+    @Test
+    void test3() throws Exception {
+        final var counter = new AtomicInteger();
+        final var threads = 16;
+        final var start = new CountDownLatch(1);
+        final var lazy = ResultOrError.on(() -> {
+                start.await();
+                Thread.sleep(20);
+                return counter.incrementAndGet();
+            })
+            .memoize();
+
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(lazy::get));
+            }
+            start.countDown();
+            for (var future : futures) {
+                Assertions.assertThat(future.get()).isOne();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertThat(counter.get()).isOne();
+    }
+
+    @Test
+    void test4() {
+        final var counter = new AtomicInteger();
+        final var lazy = ResultOrError.on(() -> {
+                if (counter.incrementAndGet() == 1) {
+                    throw new StackOverflowError();
+                }
+                return counter.get();
+            })
+            .memoize();
+
+        Assertions.assertThatThrownBy(lazy::get).isInstanceOf(StackOverflowError.class);
+        Assertions.assertThat(lazy.get()).isEqualTo(2);
+        Assertions.assertThat(lazy.get()).isEqualTo(2);
+    }
+
+    @Test
+    void test5() {
+        final var holder = new ValueHolder<ResultOrError<Integer>>();
+        holder.setValue(ResultOrError.of(1).flatMap(i -> holder.value()).memoize());
+
+        Assertions.assertThatThrownBy(() -> holder.value().get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void test6() {
+        final var opened = new AtomicInteger();
+        final var closeable = new WithCloseableTest.MockCloseable(opened::incrementAndGet);
+        final var lazy = WithCloseable.open(() -> closeable)
+            .map(c -> 1)
+            .closeAndMemoize();
+
+        Assertions.assertThat(lazy.get()).isOne();
+        Assertions.assertThat(lazy.get()).isOne();
+        Assertions.assertThat(lazy.getResult().isSuccess()).isTrue();
+        Assertions.assertThat(closeable.isClosed()).isTrue();
+        Assertions.assertThat(opened.get()).isOne();
+    }
+
+    @Test
+    void test7() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var runs = new AtomicInteger();
+        final var lazy = ResultOrError.on(() -> {
+                if (runs.incrementAndGet() == 1) {
+                    release.await();
+                    throw new StackOverflowError();
+                }
+                return runs.get();
+            })
+            .memoize();
+
+        final var owner = new Thread(() -> Assertions.assertThatThrownBy(lazy::get).isInstanceOf(StackOverflowError.class));
+        owner.start();
+        while (runs.get() == 0) {
+            Thread.onSpinWait();
+        }
+        final var waiters = new ArrayList<Thread>();
+        final var values = new ArrayList<Integer>();
+        for (int i = 0; i < 4; i++) {
+            final var waiter = new Thread(() -> {
+                final var value = lazy.get();
+                synchronized (values) {
+                    values.add(value);
+                }
+            });
+            waiter.start();
+            waiters.add(waiter);
+        }
+        for (var waiter : waiters) {
+            while (waiter.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+
+        release.countDown();
+        owner.join(5_000);
+        for (var waiter : waiters) {
+            waiter.join(5_000);
+        }
+        Assertions.assertThat(values).containsExactly(2, 2, 2, 2);
+        Assertions.assertThat(runs.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,64 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.vm.VM;
+
+class NodeFootprintTest {
+
+    /**
+     * @return the size of an instance with an int and the given number of references, on this vm
+     */
+    static long budget(int references) {
+        final var vm = VM.current();
+        final long size = vm.objectHeaderSize() + 4L + (long) references * vm.arrayIndexScale("java.lang.Object");
+        final long alignment = vm.objectAlignment();
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    static long instanceSize(Object node) {
+        return ClassLayout.parseClass(node.getClass()).instanceSize();
+    }
+
+    @Test
+    void test1() {
+        // call site, previous, input, output, exception
+        Assertions.assertThat(ClassLayout.parseClass(StackStepInfo.class).instanceSize()).isLessThanOrEqualTo(budget(4));
+        Assertions.assertThat(ClassLayout.parseClass(ChildStep.class).instanceSize()).isLessThanOrEqualTo(budget(5));
+    }
+
+    @Test
+    void test2() {
+        final var success = ResultOrError.of(TraceMode.FULL, 1).map(i -> i + 1).getResult();
+        final var failure = ResultOrError.of(TraceMode.FULL, 1).map(i -> i / 0).getResult();
+
+        final var successStep = success.getStackStepInfo().orElseThrow().previous();
+        final var failureStep = failure.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failureStep.isError()).isTrue();
+        Assertions.assertThat(instanceSize(successStep)).isLessThanOrEqualTo(budget(4));
+        Assertions.assertThat(instanceSize(failureStep)).isLessThanOrEqualTo(budget(4));
+    }
+
+    @Test
+    void test3() {
+        final var result = ResultOrError.of(TraceMode.FULL, 1)
+            .flatMap(i -> ResultOrError.of(i + 1))
+            .getResult();
+
+        final var flatMapStep = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(flatMapStep.getChild()).isPresent();
+        Assertions.assertThat(instanceSize(flatMapStep)).isLessThanOrEqualTo(budget(5));
+        Assertions.assertThat(instanceSize(flatMapStep.getChild().orElseThrow())).isLessThanOrEqualTo(budget(4));
+    }
+
+    @Test
+    void test4() {
+        final var child = new StackStepInfo<Integer>(CallSites.NONE, null, 1, 2, null, null);
+        final var step = new StackStepInfo<>(CallSites.NONE, null, 0, 2, null, child);
+
+        Assertions.assertThat(step.input()).isEqualTo(0);
+        Assertions.assertThat(step.child()).isSameAs(child);
+        Assertions.assertThat(child.child()).isNull();
+    }
+}
@@ -0,0 +1,120 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+class PrimitiveResultOrErrorTest {
+
+    static int count(StackStepInfo<?> last) {
+        var count = 0;
+        for (var current = last; current != null; current = current.previous()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void test1() {
+        final var result = IntResultOrError.of(TraceMode.OFF, 1000)
+            .map(i -> i * 3)
+            .filter(i -> i > 0)
+            .map(i -> i + 1)
+            .getResult();
+
+        Assertions.assertThat(result.getAsInt()).isEqualTo(3001);
+        Assertions.assertThat(result.isPresent()).isTrue();
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+        Assertions.assertThat(IntResultOrError.on(TraceMode.ERRORS_ONLY, () -> 2).map(i -> i * i).get()).isEqualTo(4);
+    }
+
+    @Test
+    void test2() {
+        final var result = LongResultOrError.of(TraceMode.FULL, 10L)
+            .map(l -> l * 1_000_000_000L)
+            .consume(l -> Assertions.assertThat(l).isEqualTo(10_000_000_000L))
+            .getResult();
+
+        Assertions.assertThat(result.getAsLong()).isEqualTo(10_000_000_000L);
+        final var last = result.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(count(last)).isEqualTo(4);
+        Assertions.assertThat(last.previous().previous().input()).isEqualTo(10L);
+        Assertions.assertThat(last.previous().previous().output()).isEqualTo(10_000_000_000L);
+        Assertions.assertThat(last.previous().previous().stackFrame().getMethodName()).isEqualTo("test2");
+    }
+
+    @Test
+    void test3() {
+        final var result = IntResultOrError.of(TraceMode.ERRORS_ONLY, 7)
+            .map(i -> i + 1)
+            .map(i -> i / 0)
+            .map(i -> i + 1)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThatThrownBy(result::getAsInt).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(result.getOrFallBackForError(e -> -1)).isEqualTo(-1);
+        final var failing = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failing.input()).isEqualTo(8);
+        Assertions.assertThat(failing.stackFrame().getMethodName()).isEqualTo("test3");
+        Assertions.assertThat(failing.previous()).isNull();
+
+        final var logs = new ArrayList<String>();
+        result.traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString().contains("ArithmeticException");
+    }
+
+    @Test
+    void test4() {
+        final var result = DoubleResultOrError.of(TraceMode.FULL, 1.5)
+            .filter(d -> d > 2)
+            .map(d -> d * 2)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isTrue();
+        Assertions.assertThat(result.isPresent()).isFalse();
+        Assertions.assertThat(result.getOption()).isEmpty();
+        Assertions.assertThatThrownBy(result::getAsDouble).isInstanceOf(NoSuchElementException.class);
+        Assertions.assertThat(result.boxed().get()).isNull();
+    }
+
+    @Test
+    void test5() {
+        final var text = ResultOrError.of(TraceMode.FULL, "41")
+            .mapToInt(Integer::parseInt)
+            .map(i -> i + 1)
+            .asLong()
+            .map(l -> l * 2)
+            .mapToObj(l -> "v" + l)
+            .getResult();
+
+        Assertions.assertThat(text.get()).isEqualTo("v84");
+        Assertions.assertThat(count(text.getStackStepInfo().orElseThrow())).isEqualTo(6);
+
+        final var eager = EagerResultOrError.of(TraceMode.OFF, "x").mapToDouble(Double::parseDouble).getResult();
+        Assertions.assertThat(eager.getError()).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThat(eager.getStackStepInfo()).isEmpty();
+        Assertions.assertThat(IntResultOrError.of(TraceMode.OFF, 3).boxed().map(i -> i * 2).get()).isEqualTo(6);
+    }
+
+    @Test
+    void test6() {
+        final var seen = new AtomicReference<Exception>();
+        final var result = IntResultOrError.on(TraceMode.FULL, () -> Integer.parseInt("x"))
+            .doOnError(seen::set)
+            .map(i -> i + 1)
+            .mapOnError(e -> -1)
+            .map(i -> i * 10)
+            .getResult();
+
+        Assertions.assertThat(seen.get()).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThat(result.getAsInt()).isEqualTo(-10);
+        Assertions.assertThat(count(result.getStackStepInfo().orElseThrow())).isEqualTo(5);
+        Assertions.assertThat(IntResultOrError.of(TraceMode.OFF, 1).map(i -> i / 0).mapToObj(i -> i).getResult().getError())
+            .isInstanceOf(ArithmeticException.class);
+    }
+}
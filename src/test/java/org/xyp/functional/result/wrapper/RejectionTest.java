@@ -0,0 +1,120 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.xyp.functional.result.FunctionException;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RejectionTest {
+
+    enum Code {
+        NOT_FOUND, INVALID
+    }
+
+    record Invalid(String field) {
+    }
+
+    static class CodeException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        CodeException(Code code) {
+            super(code.name());
+        }
+    }
+
+    static final AtomicInteger BUILT = new AtomicInteger();
+
+    static CodeException build(Code code) {
+        BUILT.incrementAndGet();
+        return new CodeException(code);
+    }
+
+    @AfterEach
+    void reset() {
+        BUILT.set(0);
+        TraceConfig.setFailureRethrow(FailureRethrow.WRAP);
+    }
+
+    static Result<String, CodeException> find(int id) {
+        return id > 0 ? Result.success("user" + id, null) : Result.rejection(Code.NOT_FOUND, RejectionTest::build);
+    }
+
+    @Test
+    void test1() {
+        final var result = find(0);
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getErrorValue(Code.class)).contains(Code.NOT_FOUND);
+        Assertions.assertThat(result.getErrorValue(String.class)).isEmpty();
+        Assertions.assertThat(find(1).getErrorValue(Code.class)).isEmpty();
+        Assertions.assertThat(result).isInstanceOfSatisfying(Rejection.class, rejection ->
+            Assertions.assertThat(rejection.error()).isEqualTo(Code.NOT_FOUND));
+        Assertions.assertThat(BUILT).hasValue(0);
+    }
+
+    @Test
+    void test2() {
+        final var result = find(-1);
+
+        Assertions.assertThatThrownBy(result::get)
+            .isInstanceOf(FunctionException.class)
+            .hasCauseInstanceOf(CodeException.class)
+            .hasRootCauseMessage("NOT_FOUND");
+        Assertions.assertThat(BUILT).hasValue(1);
+        Assertions.assertThat(result.getError()).isNotSameAs(result.getError()).hasMessage("NOT_FOUND");
+        Assertions.assertThat(BUILT).hasValue(3);
+
+        TraceConfig.setFailureRethrow(FailureRethrow.ORIGINAL);
+        Assertions.assertThatThrownBy(result::getOption).isInstanceOf(CodeException.class);
+    }
+
+    @Test
+    void test3() {
+        final Rejection<String, Code, CodeException> rejection = new Rejection<>(Code.INVALID, RejectionTest::build, null);
+        final var seen = new ArrayList<Code>();
+
+        Assertions.assertThat(rejection.ifErrorValue(seen::add).getOrFallBackForErrorValue(Code::name)).isEqualTo("INVALID");
+        Assertions.assertThat(seen).containsExactly(Code.INVALID);
+        Assertions.assertThatThrownBy(() -> rejection.getOrSpecErrorBy(IllegalStateException.class,
+                r -> new IllegalStateException(String.valueOf(r.getErrorValue(Code.class).orElseThrow()))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("INVALID");
+
+        final Rejection<Integer, Invalid, CodeException> mapped = rejection.<Integer>cast()
+            .mapErrorValue(code -> new Invalid("name"), invalid -> build(Code.INVALID));
+        Assertions.assertThat(mapped.getErrorValue(Invalid.class)).contains(new Invalid("name"));
+        Assertions.assertThat(BUILT).hasValue(0);
+    }
+
+    @Test
+    void test4() {
+        final var mapped = find(0).mapError(IllegalArgumentException.class, e -> new IllegalArgumentException(e.getMessage(), e));
+        Assertions.assertThat(BUILT).hasValue(0);
+        Assertions.assertThat(mapped.getErrorValue(Code.class)).contains(Code.NOT_FOUND);
+
+        Assertions.assertThatThrownBy(mapped::get).isExactlyInstanceOf(IllegalArgumentException.class).hasMessage("NOT_FOUND");
+        Assertions.assertThat(mapped.getOrFallBackForError(e -> "fallback")).isEqualTo("fallback");
+        Assertions.assertThat(BUILT).hasValue(2);
+
+        final var errors = new ArrayList<Result<String, CodeException>>();
+        find(0).doIfError(errors::add);
+        find(2).doIfError(errors::add);
+        Assertions.assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void test5() {
+        final var result = EagerResultOrError.from(TraceMode.FULL, find(0))
+            .map(String::length)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getError()).isInstanceOf(CodeException.class).hasMessage("NOT_FOUND");
+        Assertions.assertThat(BUILT).hasValue(1);
+        Assertions.assertThatThrownBy(() -> Result.rejection(null, RejectionTest::build))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+class ResultFoldTest {
+
+    @Test
+    void test1() {
+        final Result<Integer, Exception> success = ResultOrError.of(TraceMode.FULL, 20).map(i -> i + 1).getResult();
+        final Result<Integer, Exception> failure = ResultOrError.of(TraceMode.FULL, 20).map(i -> i / 0).getResult();
+
+        final String folded = success.fold(i -> "value " + i, e -> "error " + e.getClass().getSimpleName());
+        final String foldedError = failure.fold(i -> "value " + i, e -> "error " + e.getClass().getSimpleName());
+        Assertions.assertThat(folded).isEqualTo("value 21");
+        Assertions.assertThat(foldedError).isEqualTo("error ArithmeticException");
+    }
+
+    @Test
+    void test2() {
+        final Result<String, IOException> rejection = Result.rejection(404, code -> new IOException("status " + code));
+
+        final String folded = rejection.fold(s -> s, IOException::getMessage);
+        final String foldedEmpty = Result.<String, IOException>success(null, null).fold(s -> "empty", e -> "error");
+        Assertions.assertThat(folded).isEqualTo("status 404");
+        Assertions.assertThat(foldedEmpty).isEqualTo("empty");
+    }
+
+    @Test
+    void test3() {
+        final var errors = new ArrayList<Result<Integer, Exception>>();
+        Result.<Integer, Exception>success(1, null).doIfError(errors::add);
+        Result.<Integer, Exception>failure(new IOException(), null).doIfError(errors::add);
+        Result.<Integer, String, Exception>rejection("invalid", IllegalArgumentException::new).doIfError(errors::add);
+
+        Assertions.assertThat(errors).hasSize(2);
+        Assertions.assertThat(Result.class.isSealed()).isTrue();
+        Assertions.assertThat(Result.class.getPermittedSubclasses())
+            .containsExactlyInAnyOrder(Success.class, Failure.class, Rejection.class);
+    }
+}
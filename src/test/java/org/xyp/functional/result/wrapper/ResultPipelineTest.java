@@ -0,0 +1,83 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class ResultPipelineTest {
+
+    static final ResultPipeline<String, Integer> PARSE = ResultPipeline.<String>start(TraceMode.FULL)
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .filter(i -> i > 0);
+
+    @Test
+    void test1() {
+        Assertions.assertThat(PARSE.apply(" 42 ").get()).isEqualTo(42);
+        Assertions.assertThat(PARSE.apply("-1").getOption()).isEmpty();
+
+        final var failure = PARSE.apply("x");
+        Assertions.assertThat(failure.isSuccess()).isFalse();
+        Assertions.assertThat(failure.getError()).isInstanceOf(NumberFormatException.class);
+        final var trace = failure.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(trace.input()).isEqualTo("x");
+        Assertions.assertThat(trace.previous().previous().output()).isEqualTo("x");
+    }
+
+    @Test
+    void test2() {
+        PARSE.apply("1");
+        final var sites = CallSites.size();
+        for (int i = 0; i < 1000; i++) {
+            PARSE.apply(String.valueOf(i));
+        }
+        Assertions.assertThat(CallSites.size()).isEqualTo(sites);
+
+        final var trace = PARSE.apply("7").getStackStepInfo().orElseThrow();
+        Assertions.assertThat(trace.stackFrame().getClassName()).isEqualTo(ResultPipelineTest.class.getName());
+    }
+
+    @Test
+    void test3() throws Exception {
+        final var threads = 8;
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < threads; i++) {
+                final var offset = i * 1000;
+                futures.add(executor.submit(() -> {
+                    var sum = 0;
+                    for (int j = 1; j <= 1000; j++) {
+                        sum += PARSE.apply(String.valueOf(offset + j)).get() - offset;
+                    }
+                    return sum;
+                }));
+            }
+            for (var future : futures) {
+                Assertions.assertThat(future.get()).isEqualTo(500500);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test4() {
+        final var pipeline = ResultPipeline.<Integer>start()
+            .flatMap(i -> ResultOrError.of(i).map(v -> v * 2))
+            .mapOnError(e -> -1)
+            .continueWithOptional();
+
+        Assertions.assertThat(pipeline.apply(3).get()).contains(6);
+        Assertions.assertThat(pipeline.apply(null).get()).isEmpty();
+
+        final var chained = ResultOrError.of("5")
+            .flatMap(PARSE::chain)
+            .map(i -> i + 1)
+            .get();
+        Assertions.assertThat(chained).isEqualTo(6);
+    }
+}
@@ -0,0 +1,150 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RetentionTest {
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setDefaultRetention(Retention.STRONG);
+        TraceConfig.setSnapshotLength(150);
+    }
+
+    @Test
+    void test1() {
+        final var payload = new byte[1024];
+        final var result = ResultOrError.of(TraceMode.FULL, payload)
+            .map(bytes -> bytes.length)
+            .getResult();
+
+        final var last = result.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(last.previous().input()).isSameAs(payload);
+        Assertions.assertThat(last.previous().previous().output()).isSameAs(payload);
+    }
+
+    @Test
+    void test2() {
+        TraceConfig.setSnapshotLength(5);
+        final var result = ResultOrError.of(TraceMode.FULL, "abcdefghij")
+            .map(String::length)
+            .withRetention(Retention.SNAPSHOT)
+            .getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(10);
+        final var last = result.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(last.output()).isEqualTo(10);
+        final var map = last.previous();
+        Assertions.assertThat(map.input()).isNull();
+        Assertions.assertThat(map.renderInput()).isEqualTo("abcde ...");
+        Assertions.assertThat(map.output()).isNull();
+        Assertions.assertThat(map.renderOutput()).isEqualTo("10");
+        Assertions.assertThat(map.previous().renderOutput()).isEqualTo("abcde ...");
+
+        final var logs = new ArrayList<String>();
+        result.traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString().contains("->: abcde ...");
+    }
+
+    @Test
+    void test3() {
+        final var result = ResultOrError.of(TraceMode.FULL, List.of(1, 2, 3))
+            .map(List::size)
+            .map(i -> i / 0)
+            .withRetention(Retention.NONE)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        final var failing = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(failing.isError()).isTrue();
+        Assertions.assertThat(failing.input()).isNull();
+        Assertions.assertThat(failing.renderInput()).isEqualTo("<not retained>");
+        Assertions.assertThat(failing.previous().previous().output()).isNull();
+    }
+
+    @Test
+    void test4() {
+        TraceConfig.setDefaultRetention(Retention.WEAK);
+        final var result = ResultOrError.of(new byte[16 * 1024 * 1024])
+            .map(bytes -> bytes.length)
+            .getResult();
+
+        final var source = result.getStackStepInfo().orElseThrow().previous().previous();
+        for (int i = 0; i < 20 && null != source.output(); i++) {
+            System.gc();
+        }
+        Assertions.assertThat(source.output()).isNull();
+        Assertions.assertThat(source.renderOutput()).isEqualTo("<collected>");
+        Assertions.assertThat(result.get()).isEqualTo(16 * 1024 * 1024);
+    }
+
+    @Test
+    void test5() {
+        final var pipeline = ResultPipeline.<String>start(TraceMode.FULL)
+            .map(String::length)
+            .withRetention(Retention.SNAPSHOT);
+        final var pipelineTrace = pipeline.apply("abc").getStackStepInfo().orElseThrow();
+        Assertions.assertThat(pipelineTrace.output()).isEqualTo(3);
+        Assertions.assertThat(pipelineTrace.input()).isNull();
+        Assertions.assertThat(pipelineTrace.renderInput()).isEqualTo("abc");
+
+        final var eager = EagerResultOrError.of(TraceMode.FULL, "abc")
+            .withRetention(Retention.NONE)
+            .map(String::length)
+            .getResult();
+        Assertions.assertThat(eager.get()).isEqualTo(3);
+        Assertions.assertThat(eager.getStackStepInfo().orElseThrow().previous().input()).isNull();
+
+        final var closeable = WithCloseable.open(TraceMode.FULL, WithCloseableTest.MockCloseable::new)
+            .map(c -> "value")
+            .map(String::length)
+            .withRetention(Retention.NONE)
+            .closeAndGetResult();
+        Assertions.assertThat(closeable.get()).isEqualTo(5);
+    }
+
+    @Test
+    void test6() {
+        Assertions.assertThatThrownBy(() -> TraceConfig.setSnapshotLength(-1)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> ResultOrError.of(1).withRetention(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void test7() {
+        TraceConfig.setSnapshotLength(12);
+        final var rendered = new AtomicInteger();
+        final var value = new Object() {
+            @Override
+            public String toString() {
+                rendered.incrementAndGet();
+                return "value";
+            }
+        };
+        final var result = ResultOrError.of(TraceMode.FULL, value)
+            .withRetention(Retention.SNAPSHOT)
+            .map(v -> List.of(1, 2, 3, 4, 5, 6, 7, 8))
+            .map(List::size)
+            .getResult();
+
+        Assertions.assertThat(rendered).hasValue(1);
+        final var last = result.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(last.previous().renderInput()).isEqualTo("[1, 2, 3, 4, ...");
+        Assertions.assertThat(last.previous().previous().renderInput()).isEqualTo("value");
+
+        final var map = new LinkedHashMap<String, Integer>();
+        map.put("a", 1);
+        map.put("b", 2);
+        final var small = ResultOrError.of(TraceMode.FULL, map)
+            .withRetention(Retention.SNAPSHOT)
+            .map(Map::size)
+            .getResult();
+        Assertions.assertThat(small.getStackStepInfo().orElseThrow().previous().renderInput()).isEqualTo(map.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StageTest {
+
+    @Test
+    void test1() {
+        final var counter = new AtomicInteger();
+        final var chain = ResultOrError.on(counter::incrementAndGet)
+            .map(i -> i * 10)
+            .filter(i -> i > 0)
+            .consume(i -> counter.incrementAndGet());
+
+        Assertions.assertThat(chain.get()).isEqualTo(10);
+        Assertions.assertThat(chain.get()).isEqualTo(30);
+        Assertions.assertThat(counter.get()).isEqualTo(4);
+    }
+
+    @Test
+    void test2() {
+        final var result = ResultOrError.of(TraceMode.FULL, 1)
+            .flatMap(i -> ResultOrError.of(TraceMode.OFF, i).map(v -> v + 1))
+            .map(i -> i * 10)
+            .getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(20);
+        final var flatMapStep = result.getStackStepInfo().orElseThrow().previous().previous();
+        Assertions.assertThat(flatMapStep.output()).isEqualTo(2);
+        Assertions.assertThat(flatMapStep.getChild()).isEmpty();
+        Assertions.assertThat(flatMapStep.previous().output()).isEqualTo(1);
+    }
+
+    @Test
+    void test3() {
+        final var errors = new ArrayList<Exception>();
+        final var result = ResultOrError.doRun(() -> {
+                throw new IllegalStateException("run");
+            })
+            .mapOnError(e -> {
+                throw new IllegalArgumentException("again", e);
+            })
+            .doOnError(errors::add)
+            .continueWithOptional()
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getError()).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(errors).containsExactly(result.getError());
+    }
+}
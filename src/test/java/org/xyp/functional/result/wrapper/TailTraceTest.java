@@ -0,0 +1,98 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+class TailTraceTest {
+
+    static int count(StackStepInfo<?> last) {
+        var count = 0;
+        for (var current = last; current != null; current = current.previous()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void test1() {
+        final var result = ResultOrError.of(TraceMode.TAIL, 1).map(v -> v + 1).map(v -> v * 2).getResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(4);
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test2() {
+        final var result = ResultOrError.of(TraceMode.TAIL, 1)
+            .map(v -> v + 1)
+            .map(v -> v * 2)
+            .map(v -> v / 0)
+            .map(v -> v + 1)
+            .getResult();
+
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        final var last = result.getStackStepInfo().orElseThrow();
+        // getResult, the failing step, which the step after it passes on, and the 3 steps before it
+        Assertions.assertThat(count(last)).isEqualTo(5);
+        final var failing = last.previous();
+        Assertions.assertThat(failing.input()).isEqualTo(4);
+        Assertions.assertThat(failing.exception()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(failing.previous().output()).isEqualTo(4);
+        Assertions.assertThat(failing.previous().renderInput()).isEqualTo("<not retained>");
+        Assertions.assertThat(failing.previous().previous().renderOutput()).isEqualTo("<not retained>");
+        Assertions.assertThat(failing.previous().previous().stackFrame().getMethodName()).isEqualTo("test2");
+
+        final var logs = new ArrayList<String>();
+        result.traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString()
+            .contains("TailTraceTest.test2")
+            .contains("ArithmeticException");
+    }
+
+    @Test
+    void test3() {
+        final var result = ResultOrError.of(TraceMode.TAIL, 1)
+            .map(v -> v / 0)
+            .mapOnError(e -> 10)
+            .map(v -> v + 1)
+            .map(v -> v / 0)
+            .getResult();
+
+        final var second = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(second.input()).isEqualTo(11);
+        Assertions.assertThat(second.previous().output()).isEqualTo(11);
+        Assertions.assertThat(second.previous().previous().previous().isError()).isTrue();
+        Assertions.assertThat(count(second)).isEqualTo(5);
+    }
+
+    @Test
+    void test4() {
+        final var result = ResultOrError.of(TraceMode.TAIL, 1)
+            .map(v -> v + 1)
+            .flatMap(v -> ResultOrError.of(TraceMode.TAIL, v).map(i -> i + 1).map(i -> i / 0))
+            .getResult();
+
+        final var flatMapStep = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(flatMapStep.isError()).isTrue();
+        Assertions.assertThat(flatMapStep.input()).isEqualTo(2);
+        final var child = flatMapStep.getChild().orElseThrow();
+        Assertions.assertThat(child.input()).isEqualTo(3);
+        Assertions.assertThat(count(child)).isEqualTo(3);
+    }
+
+    @Test
+    void test5() {
+        final var closeable = new WithCloseableTest.MockCloseable();
+        final var result = WithCloseable.open(TraceMode.TAIL, () -> closeable)
+            .map(c -> 1)
+            .map(v -> v / 0)
+            .closeAndGetResult();
+
+        Assertions.assertThat(closeable.isClosed()).isTrue();
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(result.getStackStepInfo()).isPresent();
+        Assertions.assertThat(ResultOrError.of(TraceMode.TAIL, 1).map(v -> v + 1).get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,176 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+class TraceArenaTest {
+
+    static ResultOrError<Integer> chain(int start) {
+        return ResultOrError.of(TraceMode.FULL, start).map(v -> v + 1).map(v -> v * 2);
+    }
+
+    static int count(StackStepInfo<?> last) {
+        var count = 0;
+        for (var current = last; current != null; current = current.previous()) {
+            Assertions.assertThat(current).isNotInstanceOf(PooledStep.class);
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void test1() {
+        final int sum = TraceArena.scoped(() -> {
+            var total = 0;
+            for (int i = 0; i < 100; i++) {
+                total += chain(i).get();
+            }
+            return total;
+        });
+
+        Assertions.assertThat(sum).isEqualTo(10100);
+        Assertions.assertThat(TraceArena.active()).isNull();
+    }
+
+    @Test
+    void test2() {
+        final Result<Integer, Exception> kept;
+        final Result<Integer, Exception> failed;
+        final var scope = TraceArena.open();
+        try {
+            final var result = chain(1).getResult();
+            final var trace = result.getStackStepInfo().orElseThrow();
+            Assertions.assertThat(count(trace)).isEqualTo(4);
+            Assertions.assertThat(trace.previous().output()).isEqualTo(4);
+            Assertions.assertThat(trace.previous().input()).isEqualTo(2);
+            kept = chain(5).getResult();
+            failed = chain(5).map(v -> v / 0).getResult();
+        } finally {
+            scope.close();
+        }
+        // the steps went back to the pool, and are reused by the next scope
+        TraceArena.scoped(() -> chain(100).get());
+
+        Assertions.assertThat(kept.get()).isEqualTo(12);
+        final var trace = kept.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(count(trace)).isEqualTo(4);
+        Assertions.assertThat(trace.previous().output()).isEqualTo(12);
+        Assertions.assertThat(trace.previous().input()).isEqualTo(6);
+        Assertions.assertThat(((Success<Integer, Exception>) kept).stackStepInfo()).isSameAs(trace);
+
+        final var failedTrace = failed.getStackStepInfo().orElseThrow();
+        Assertions.assertThat(count(failedTrace)).isEqualTo(5);
+        Assertions.assertThat(failedTrace.previous().exception()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(failedTrace.previous().input()).isEqualTo(12);
+    }
+
+    @Test
+    void test3() {
+        final StackStepInfo<Integer> trace;
+        final var scope = TraceArena.open();
+        try {
+            final var result = ResultOrError.of(TraceMode.FULL, 1)
+                .flatMap(i -> chain(i).map(v -> v / 0))
+                .getResult();
+            Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+            trace = result.getStackStepInfo().orElseThrow();
+        } finally {
+            scope.close();
+        }
+        TraceArena.scoped(() -> chain(100).get());
+
+        final var flatMapStep = trace.previous();
+        Assertions.assertThat(flatMapStep.isError()).isTrue();
+        final var child = flatMapStep.getChild().orElseThrow();
+        Assertions.assertThat(count(child)).isEqualTo(4);
+        Assertions.assertThat(child.input()).isEqualTo(4);
+
+        final var logs = new ArrayList<String>();
+        Result.failure(new IllegalStateException(), trace).traceDebugOrError(() -> true, logs::add, () -> true, logs::add);
+        Assertions.assertThat(logs).singleElement().asString().contains("ArithmeticException");
+    }
+
+    @Test
+    void test4() {
+        final ResultOrError<Integer> memoized;
+        final Result<Integer, Exception> eager;
+        final var scope = TraceArena.open();
+        try {
+            memoized = chain(1).memoize();
+            Assertions.assertThat(memoized.get()).isEqualTo(4);
+            eager = EagerResultOrError.of(TraceMode.FULL, 1).map(v -> v + 1).getResult();
+        } finally {
+            scope.close();
+        }
+        TraceArena.scoped(() -> chain(100).get());
+
+        final var result = memoized.map(v -> v + 1).getResult();
+        Assertions.assertThat(result.get()).isEqualTo(5);
+        Assertions.assertThat(count(result.getStackStepInfo().orElseThrow())).isEqualTo(5);
+        Assertions.assertThat(eager.getStackStepInfo()).isPresent();
+    }
+
+    @Test
+    void test5() {
+        try (var outer = TraceArena.open()) {
+            try (var inner = TraceArena.open()) {
+                Assertions.assertThat(inner).isSameAs(outer);
+            }
+            Assertions.assertThat(TraceArena.active()).isSameAs(outer);
+
+            final var result = chain(1).getResult();
+            final var fromOtherThread = CompletableFuture.supplyAsync(result::getStackStepInfo).join();
+            Assertions.assertThat(count(fromOtherThread.orElseThrow())).isEqualTo(4);
+            Assertions.assertThat(result.getStackStepInfo()).containsSame(fromOtherThread.get());
+
+            Assertions.assertThatThrownBy(() -> CompletableFuture.runAsync(outer::close).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        Assertions.assertThat(TraceArena.active()).isNull();
+    }
+
+    @Test
+    void test6() {
+        TraceArena.scoped(() -> {
+            var chain = ResultOrError.of(TraceMode.FULL, 0);
+            for (int i = 0; i < TraceArena.MAX_POOLED_STEPS + 10; i++) {
+                chain = chain.map(v -> v + 1);
+            }
+            final var result = chain.getResult();
+            Assertions.assertThat(result.get()).isEqualTo(TraceArena.MAX_POOLED_STEPS + 10);
+            Assertions.assertThat(count(result.getStackStepInfo().orElseThrow())).isEqualTo(TraceArena.MAX_POOLED_STEPS + 12);
+            return result;
+        });
+    }
+
+    @Test
+    void test7() {
+        final var kept = new ArrayList<Result<Integer, Exception>>();
+        final Result<Integer, Exception> readAfterClose;
+        final var scope = TraceArena.open();
+        try {
+            for (int i = 0; i < TraceArena.MAX_TRACKED_TRACES * 2; i++) {
+                // dropped at once, its trace is not copied out
+                chain(i).getResult();
+            }
+            for (int i = 0; i < TraceArena.MAX_TRACKED_TRACES + 10; i++) {
+                kept.add(chain(i).getResult());
+            }
+            readAfterClose = chain(7).getResult();
+        } finally {
+            scope.close();
+        }
+        // the steps are not reused until the next scope takes one
+        Assertions.assertThat(readAfterClose.getStackStepInfo().orElseThrow().previous().output()).isEqualTo(16);
+        TraceArena.scoped(() -> chain(100).get());
+
+        for (int i = 0; i < kept.size(); i++) {
+            final var trace = kept.get(i).getStackStepInfo().orElseThrow();
+            Assertions.assertThat(count(trace)).isEqualTo(4);
+            Assertions.assertThat(trace.previous().input()).isEqualTo(i + 1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TraceModeTest {
+
+    @AfterEach
+    void reset() {
+        TraceConfig.setDefaultMode(TraceMode.FULL);
+        TraceConfig.setSampleRate(100);
+    }
+
+    @Test
+    void test1() {
+        final var result = ResultOrError.on(TraceMode.OFF, () -> 1)
+            .map(i -> i + 1)
+            .filter(i -> i > 0)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isTrue();
+        Assertions.assertThat(result.get()).isEqualTo(2);
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test2() {
+        final var result = ResultOrError.on(TraceMode.OFF, () -> 1)
+            .map(i -> i / 0)
+            .map(i -> i + 1)
+            .getResult();
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+    }
+
+    @Test
+    void test3() {
+        final var success = ResultOrError.on(TraceMode.ERRORS_ONLY, () -> 1)
+            .map(i -> i + 1)
+            .getResult();
+        Assertions.assertThat(success.get()).isEqualTo(2);
+        Assertions.assertThat(success.getStackStepInfo()).isEmpty();
+
+        final var failure = ResultOrError.on(TraceMode.ERRORS_ONLY, () -> 1)
+            .map(i -> i + 1)
+            .map(i -> i / 0)
+            .doOnError(e -> {
+            })
+            .map(i -> i + 1)
+            .getResult();
+        Assertions.assertThat(failure.isSuccess()).isFalse();
+        Assertions.assertThat(failure.getStackStepInfo()).isNotEmpty();
+        failure.getStackStepInfo().ifPresent(stack -> {
+            int count = 0;
+            StackStepInfo<?> current = stack;
+            while (current != null) {
+                Assertions.assertThat(current.isError()).isTrue();
+                Assertions.assertThat(current.stackFrame()).isNotNull();
+                count++;
+                current = current.previous();
+            }
+            // failed map, doOnError and getResult
+            Assertions.assertThat(count).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void test4() {
+        TraceConfig.setDefaultMode(TraceMode.OFF);
+        Assertions.assertThat(ResultOrError.of(1).map(i -> i + 1).getResult().getStackStepInfo()).isEmpty();
+        Assertions.assertThat(ResultOrError.of(TraceMode.FULL, 1).map(i -> i + 1).getResult().getStackStepInfo()).isNotEmpty();
+    }
+
+    @Test
+    void test5() {
+        TraceConfig.setSampleRate(1);
+        Assertions.assertThat(ResultOrError.of(TraceMode.SAMPLED, 1).getResult().getStackStepInfo()).isNotEmpty();
+
+        TraceConfig.setSampleRate(Integer.MAX_VALUE);
+        int traced = 0;
+        for (int i = 0; i < 100; i++) {
+            if (ResultOrError.of(TraceMode.SAMPLED, i).getResult().getStackStepInfo().isPresent()) {
+                traced++;
+            }
+        }
+        Assertions.assertThat(traced).isLessThan(2);
+        Assertions.assertThatThrownBy(() -> TraceConfig.setSampleRate(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void test6() {
+        final var closeable = new WithCloseableTest.MockCloseable();
+        final var result = WithCloseable.open(TraceMode.OFF, () -> closeable)
+            .map(c -> 1)
+            .map(i -> i + 1)
+            .closeAndGetResult();
+
+        Assertions.assertThat(result.get()).isEqualTo(2);
+        Assertions.assertThat(result.getStackStepInfo()).isEmpty();
+        Assertions.assertThat(closeable.isClosed()).isTrue();
+    }
+}
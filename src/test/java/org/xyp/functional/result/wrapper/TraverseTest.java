@@ -0,0 +1,166 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TraverseTest {
+
+    static ExecutorService executor;
+
+    @BeforeAll
+    static void start() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test1() {
+        final var items = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            items.add(i);
+        }
+
+        final var result = ResultOrError.traverse(items, i -> i * 2, 4, executor)
+            .map(List::size)
+            .getResult();
+        final var mapped = ResultOrError.traverse(items, i -> i * 2).get();
+
+        Assertions.assertThat(result.get()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(mapped.get(i)).isEqualTo(i * 2);
+        }
+        Assertions.assertThat(ResultOrError.traverse(List.<Integer>of(), i -> i, 4, executor).get()).isEmpty();
+        Assertions.assertThat(ResultOrError.traverse(List.of(1, 2), i -> i > 1 ? null : i, 2, executor).get())
+            .containsExactly(1, null);
+    }
+
+    @Test
+    void test2() {
+        final var running = new AtomicInteger();
+        final var most = new AtomicInteger();
+        final var items = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+
+        final var begin = System.nanoTime();
+        final var result = ResultOrError.traverse(items, i -> {
+            most.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return i;
+        }, 3, executor).getResult();
+        final var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        Assertions.assertThat(result.get()).isEqualTo(items);
+        Assertions.assertThat(most.get()).isLessThanOrEqualTo(3);
+        Assertions.assertThat(elapsed).isLessThan(550);
+    }
+
+    @Test
+    void test3() throws InterruptedException {
+        final var interrupted = new CountDownLatch(1);
+        final var taken = new AtomicInteger();
+        final var items = new ArrayList<Integer>();
+        for (int i = 0; i < 50; i++) {
+            items.add(i);
+        }
+
+        final var begin = System.nanoTime();
+        final var result = ResultOrError.traverse(items, i -> {
+            taken.incrementAndGet();
+            if (i == 0) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException exception) {
+                    interrupted.countDown();
+                    throw exception;
+                }
+            }
+            if (i == 1) {
+                Thread.sleep(50);
+                throw new IOException("item " + i);
+            }
+            return i;
+        }, 2, executor).getResult();
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(5_000);
+        Assertions.assertThat(result.getError()).isInstanceOf(IOException.class).hasMessage("item 1");
+        Assertions.assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(taken.get()).isEqualTo(2);
+        final var step = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(step.previous()).isNull();
+        Assertions.assertThat(step.child().input()).isEqualTo(1);
+        Assertions.assertThat(step.child().exception()).hasMessage("item 1");
+    }
+
+    @Test
+    void test4() {
+        final var result = ResultOrError.<Integer, Integer>traverseEach(List.of(1, 0, 2, 0), i -> 2 / i, 2, executor).getResult();
+
+        final var each = result.get();
+        Assertions.assertThat(each).hasSize(4);
+        Assertions.assertThat(each.get(0).get()).isEqualTo(2);
+        Assertions.assertThat(each.get(1).getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(each.get(2).get()).isEqualTo(1);
+        Assertions.assertThat(each.get(3).getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(each.get(3).getStackStepInfo().orElseThrow().input()).isEqualTo(0);
+    }
+
+    @Test
+    void test5() {
+        final var items = new LinkedHashMap<String, Integer>();
+        items.put("c", 3);
+        items.put("a", 1);
+        items.put("b", 0);
+
+        final var mapped = ResultOrError.traverseMap(items, i -> i * 10, 2, executor).get();
+        Assertions.assertThat(mapped).containsExactly(
+            Assertions.entry("c", 30), Assertions.entry("a", 10), Assertions.entry("b", 0));
+
+        final var failed = ResultOrError.<String, Integer, Integer>traverseMap(items, i -> 6 / i).getResult();
+        Assertions.assertThat(failed.getError()).isInstanceOf(ArithmeticException.class);
+
+        final var each = ResultOrError.<String, Integer, Integer>traverseMapEach(items, i -> 6 / i, 2, executor).get();
+        Assertions.assertThat(each.keySet()).containsExactly("c", "a", "b");
+        Assertions.assertThat(each.get("a").get()).isEqualTo(6);
+        Assertions.assertThat(each.get("b").isSuccess()).isFalse();
+
+        final var rejected = ResultOrError.traverse(List.of(1), i -> i, 1, runnable -> {
+            throw new RejectedExecutionException("full");
+        }).getResult();
+        Assertions.assertThat(rejected.getError()).isInstanceOf(RejectedExecutionException.class);
+        Assertions.assertThatThrownBy(() -> ResultOrError.traverse(List.of(1), i -> i, 0, executor))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void test6() {
+        Assertions.assertThatThrownBy(() -> ResultOrError.traverse(List.of(1, 2, 3), i -> {
+                if (i == 2) {
+                    throw new StackOverflowError("deep");
+                }
+                return i;
+            }, 2, executor).getResult())
+            .isInstanceOf(StackOverflowError.class)
+            .hasMessage("deep");
+        Assertions.assertThatThrownBy(() -> ResultOrError.<Integer, Integer>traverseEach(List.of(1), i -> {
+                throw new AssertionError("each");
+            }, 1, executor).getResult())
+            .isInstanceOf(AssertionError.class);
+    }
+}
@@ -0,0 +1,151 @@
+package org.xyp.functional.result.wrapper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ZipTest {
+
+    static ExecutorService executor;
+
+    @BeforeAll
+    static void start() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+    }
+
+    static <T> ResultOrError<T> slow(T value, long millis) {
+        return ResultOrError.on(TraceMode.FULL, () -> {
+            Thread.sleep(millis);
+            return value;
+        });
+    }
+
+    @Test
+    void test1() {
+        final var begin = System.nanoTime();
+        final var result = ResultOrError.zip(slow(20, 300), slow("a", 300).map(String::length), Integer::sum, executor)
+            .map(i -> i * 2)
+            .getResult();
+        final var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        Assertions.assertThat(result.get()).isEqualTo(42);
+        Assertions.assertThat(elapsed).isLessThan(550);
+        final var combined = result.getStackStepInfo().orElseThrow().previous().previous();
+        Assertions.assertThat(combined.output()).isEqualTo(21);
+        final var second = combined.previous();
+        final var first = second.previous();
+        Assertions.assertThat(first.output()).isEqualTo(20);
+        Assertions.assertThat(first.child().output()).isEqualTo(20);
+        Assertions.assertThat(second.output()).isEqualTo(1);
+        Assertions.assertThat(second.child().previous().output()).isEqualTo("a");
+        Assertions.assertThat(first.previous()).isNull();
+    }
+
+    @Test
+    void test2() {
+        Assertions.assertThat(ResultOrError.zip3(slow(1, 10), slow("b", 10), slow(3L, 10), (a, b, c) -> a + b + c, executor).get())
+            .isEqualTo("1b3");
+        Assertions.assertThat(ResultOrError.zipAll(List.of(slow(3, 50), slow(1, 0), slow(2, 20)), executor).get())
+            .containsExactly(3, 1, 2);
+        Assertions.assertThat(ResultOrError.zipAll(List.of(ResultOrError.of(TraceMode.OFF, "common"))).get())
+            .containsExactly("common");
+        Assertions.assertThat(ResultOrError.zipAll(List.<ResultOrError<Integer>>of(), executor).get()).isEmpty();
+    }
+
+    @Test
+    void test3() throws InterruptedException {
+        final var interrupted = new CountDownLatch(1);
+        final var blocked = ResultOrError.on(TraceMode.FULL, () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException exception) {
+                interrupted.countDown();
+                throw exception;
+            }
+            return 1;
+        });
+        final var failing = slow(2, 50).map(i -> {
+            if (i > 1) {
+                throw new IOException("branch");
+            }
+            return i;
+        });
+
+        final var begin = System.nanoTime();
+        final var result = ResultOrError.zip(blocked, failing, Integer::sum, executor).getResult();
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(5_000);
+        Assertions.assertThat(result.getError()).isInstanceOf(IOException.class).hasMessage("branch");
+        Assertions.assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        final var zipStep = result.getStackStepInfo().orElseThrow().previous();
+        Assertions.assertThat(zipStep.previous()).isNull();
+        Assertions.assertThat(zipStep.child().exception()).hasMessage("branch");
+        Assertions.assertThat(zipStep.child().previous().output()).isEqualTo(2);
+    }
+
+    @Test
+    void test4() {
+        final var empty = ResultOrError.zip(slow(1, 0), slow(2, 0).filter(i -> i > 5), Integer::sum, executor).getResult();
+        Assertions.assertThat(empty.isSuccess()).isTrue();
+        Assertions.assertThat(empty.getOption()).isEmpty();
+
+        final var failed = ResultOrError.zip(slow(1, 0), slow(0, 0), (a, b) -> a / b, executor).getResult();
+        Assertions.assertThat(failed.getError()).isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(failed.getStackStepInfo().orElseThrow().previous().previous().child()).isNotNull();
+    }
+
+    @Test
+    void test5() {
+        final var runs = new AtomicInteger();
+        final var zipped = ResultOrError.zip(
+            ResultOrError.on(TraceMode.OFF, runs::incrementAndGet),
+            ResultOrError.on(TraceMode.OFF, runs::incrementAndGet),
+            (a, b) -> a + b,
+            executor
+        );
+        Assertions.assertThat(runs).hasValue(0);
+        Assertions.assertThat(zipped.get()).isEqualTo(3);
+        Assertions.assertThat(zipped.get()).isEqualTo(7);
+        Assertions.assertThat(runs).hasValue(4);
+
+        final var rejected = ResultOrError.zip(slow(1, 0), slow(2, 0), Integer::sum, runnable -> {
+            throw new RejectedExecutionException("full");
+        }).getResult();
+        Assertions.assertThat(rejected.getError()).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void test6() throws Exception {
+        Assertions.assertThatThrownBy(() -> ResultOrError.zip(slow(1, 0), ResultOrError.<Integer>on(TraceMode.FULL, () -> {
+                throw new StackOverflowError("deep");
+            }), Integer::sum, executor).getResult())
+            .isInstanceOf(StackOverflowError.class)
+            .hasMessage("deep");
+
+        final var pool = new ForkJoinPool(1);
+        try {
+            final var inner = ResultOrError.zip(slow(1, 10), slow(2, 10), Integer::sum, pool);
+            final var outer = ResultOrError.zip(inner, ResultOrError.zip(slow(3, 10), slow(4, 10), Integer::sum, pool), Integer::sum, pool);
+            Assertions.assertThat(CompletableFuture.supplyAsync(outer::get, pool).get(5, TimeUnit.SECONDS)).isEqualTo(10);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}